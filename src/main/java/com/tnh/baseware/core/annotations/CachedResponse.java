@@ -0,0 +1,27 @@
+package com.tnh.baseware.core.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Serves a GET endpoint of a {@link ResultCache} resource from pre-serialized response bytes, kept
+ * per URL and language until a write to the resource's entity type, or to one of
+ * {@link #dependsOn()}, advances its version.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedResponse {
+
+    /**
+     * Further entity types the response is built from.
+     */
+    Class<?>[] dependsOn() default {};
+
+    /**
+     * False for responses that never change at runtime, such as enum values, which are then cached
+     * for every resource regardless of {@link ResultCache}.
+     */
+    boolean versioned() default true;
+}
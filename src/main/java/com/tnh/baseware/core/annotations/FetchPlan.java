@@ -0,0 +1,18 @@
+package com.tnh.baseware.core.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the associations a {@code GenericService} fetches together with its entities on list
+ * reads, as dotted attribute paths. Without it the plan is derived from the DTO; an empty value
+ * disables fetch planning for the service.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FetchPlan {
+
+    String[] value() default {};
+}
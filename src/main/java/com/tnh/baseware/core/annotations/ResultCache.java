@@ -0,0 +1,21 @@
+package com.tnh.baseware.core.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts a {@code GenericService} into the shared result cache: its list, page and search reads are
+ * served from Redis until a write to the entity type, or to one of {@link #dependsOn()}, advances
+ * its version. Meant for reference data that is read far more often than it changes.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ResultCache {
+
+    /**
+     * Further entity types the DTOs embed, such as the category behind a menu type.
+     */
+    Class<?>[] dependsOn() default {};
+}
@@ -0,0 +1,16 @@
+package com.tnh.baseware.core.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts a text column into indexed, accent-insensitive search: the {@code FULL_TEXT}, {@code PREFIX}
+ * and {@code FUZZY} operators of {@code GenericSpecification} are backed by GIN indexes created for
+ * it at startup. The operators also work on other columns, but without an index.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Searchable {
+}
@@ -0,0 +1,20 @@
+package com.tnh.baseware.core.annotations;
+
+import com.tnh.baseware.core.audits.UuidV7Generator;
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the identifier as a time-ordered RFC 9562 UUIDv7, so new rows land at the right edge of
+ * the primary key index instead of on random pages. Replaces
+ * {@code @GeneratedValue(strategy = GenerationType.UUID)} on entity ids.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UuidV7 {
+}
@@ -0,0 +1,48 @@
+package com.tnh.baseware.core.audits;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 UUIDv7: 48 bits of Unix milliseconds, then a 12-bit counter in {@code rand_a} (method 1
+ * of the RFC), then 62 random bits. The counter keeps ids from one JVM strictly increasing within a
+ * millisecond; when it runs out the timestamp is advanced instead, and a clock that steps backwards
+ * never produces a smaller id.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final AtomicLong LAST = new AtomicLong(); // unix millis << 12 | counter
+
+    public static UUID next() {
+        long stamp;
+        while (true) {
+            var previous = LAST.get();
+            var now = System.currentTimeMillis() << 12;
+            stamp = now > previous ? now : previous + 1;
+            if (LAST.compareAndSet(previous, stamp)) break;
+        }
+
+        var mostSigBits = (stamp >>> 12) << 16 | 0x7000L | (stamp & 0xFFFL);
+        var leastSigBits = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -3,7 +3,6 @@ package com.tnh.baseware.core.components;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tnh.baseware.core.dtos.user.ApiMessageDTO;
 import com.tnh.baseware.core.exceptions.BWCGenericRuntimeException;
-import com.tnh.baseware.core.properties.SecurityUriProperties;
 import com.tnh.baseware.core.services.MessageService;
 import com.tnh.baseware.core.services.user.imp.PrivilegeCacheService;
 import com.tnh.baseware.core.utils.LogStyleHelper;
@@ -15,7 +14,6 @@ import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
@@ -26,15 +24,13 @@ import java.util.Optional;
 @FieldDefaults(level = AccessLevel.PROTECTED, makeFinal = true)
 public abstract class BasewareCoreFilter extends OncePerRequestFilter {
 
-    SecurityUriProperties securityUriProperties;
+    BypassUriMatcher bypassUriMatcher;
     MessageService messageService;
     ObjectMapper objectMapper;
     PrivilegeCacheService privilegeCacheService;
-    AntPathMatcher pathMatcher = new AntPathMatcher();
 
-    protected boolean isBypassUri(String requestURI) {
-        return securityUriProperties.getBypass().stream()
-                .anyMatch(pattern -> pathMatcher.match(pattern, requestURI));
+    protected boolean isBypassUri(HttpServletRequest request) {
+        return bypassUriMatcher.isBypass(request);
     }
 
     protected Optional<String> getAccessToken(HttpServletRequest request) {
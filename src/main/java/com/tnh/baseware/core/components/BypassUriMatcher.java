@@ -0,0 +1,86 @@
+package com.tnh.baseware.core.components;
+
+import com.tnh.baseware.core.properties.SecurityUriProperties;
+import com.tnh.baseware.core.utils.LogStyleHelper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bypass URI list compiled once at startup. Literal URIs are looked up in a set and
+ * {@code /prefix/**} patterns are plain prefix checks, both without allocation; anything else is
+ * parsed into a {@link PathPattern}. The outcome is stored on the request so every filter in the
+ * chain shares a single evaluation.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BypassUriMatcher {
+
+    public static final String REQUEST_ATTRIBUTE = BypassUriMatcher.class.getName();
+
+    private static final String ANY_SUFFIX = "/**";
+
+    Set<String> exact = new HashSet<>();
+    List<String> prefixes = new ArrayList<>();
+    List<PathPattern> patterns = new ArrayList<>();
+
+    public BypassUriMatcher(SecurityUriProperties securityUriProperties) {
+        var parser = PathPatternParser.defaultInstance;
+
+        for (var pattern : securityUriProperties.getBypass()) {
+            if (pattern == null || pattern.isBlank()) continue;
+
+            if (isLiteral(pattern)) {
+                exact.add(pattern);
+            } else if (pattern.endsWith(ANY_SUFFIX) && isLiteral(pattern.substring(0, pattern.length() - ANY_SUFFIX.length()))) {
+                prefixes.add(pattern.substring(0, pattern.length() - ANY_SUFFIX.length()));
+            } else {
+                patterns.add(parser.parse(pattern));
+            }
+        }
+        log.debug(LogStyleHelper.debug("Compiled bypass URIs: {} exact, {} prefix, {} pattern(s)"),
+                exact.size(), prefixes.size(), patterns.size());
+    }
+
+    public boolean isBypass(HttpServletRequest request) {
+        if (request.getAttribute(REQUEST_ATTRIBUTE) instanceof Boolean bypass) return bypass;
+
+        var bypass = matches(request.getRequestURI());
+        request.setAttribute(REQUEST_ATTRIBUTE, bypass);
+        return bypass;
+    }
+
+    public boolean matches(String requestURI) {
+        if (requestURI == null) return false;
+        if (exact.contains(requestURI)) return true;
+
+        for (var prefix : prefixes) {
+            if (requestURI.startsWith(prefix)
+                    && (requestURI.length() == prefix.length() || requestURI.charAt(prefix.length()) == '/')) {
+                return true;
+            }
+        }
+
+        if (patterns.isEmpty()) return false;
+        var path = PathContainer.parsePath(requestURI);
+        for (var pattern : patterns) {
+            if (pattern.matches(path)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isLiteral(String pattern) {
+        return pattern.indexOf('*') < 0 && pattern.indexOf('?') < 0 && pattern.indexOf('{') < 0;
+    }
+}
@@ -0,0 +1,121 @@
+package com.tnh.baseware.core.components;
+
+import com.tnh.baseware.core.properties.SystemProperties;
+import com.tnh.baseware.core.utils.BasewareUtils;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for generic reads. Validators are computed from cheap state, the modification
+ * date of one entity and the change counter of its type, or the change counter alone for
+ * collections, so a request carrying a matching {@code If-None-Match} or {@code If-Modified-Since} is
+ * answered with 304 before the read query and the mapping run. ETags also cover the response
+ * language and a {@code max-age} window, which bounds staleness from changes the validators cannot
+ * see, such as SQL that bypasses Hibernate.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ConditionalGetEvaluator {
+
+    SystemProperties.ConditionalGet properties;
+
+    public ConditionalGetEvaluator(SystemProperties systemProperties) {
+        this.properties = systemProperties.getConditionalGet();
+    }
+
+    /**
+     * Validator for a single entity, or null when it has no modification date or the type version
+     * is unknown. The type version covers edits of the entity's collections, such as role
+     * assignments, which leave its modification date alone.
+     */
+    public String entityTag(Object id, Instant modifiedDate, OptionalLong version) {
+        if (!properties.isEnabled() || id == null || modifiedDate == null || version.isEmpty()) return null;
+        return tag(id + ":" + modifiedDate.toEpochMilli() + ":" + version.getAsLong());
+    }
+
+    /**
+     * Validator for a collection read, or null when the type version is unknown. The full request
+     * URL is part of it, so every page, sort and filter has its own tag.
+     */
+    public String collectionTag(OptionalLong version) {
+        if (!properties.isEnabled() || version.isEmpty()) return null;
+        return tag(version.getAsLong() + ":" + ServletUriComponentsBuilder.fromCurrentRequest().toUriString());
+    }
+
+    /**
+     * Answers 304 when the request already holds the representation, otherwise runs the read and
+     * adds the validators to its response. Without an ETag the read runs unconditionally.
+     */
+    public <T> ResponseEntity<T> evaluate(String etag, Instant lastModified, Supplier<ResponseEntity<T>> read) {
+        if (etag == null) return read.get();
+
+        var headers = new HttpHeaders();
+        headers.setETag(etag);
+        if (lastModified != null) headers.setLastModified(lastModified);
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_LANGUAGE));
+
+        if (isNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+
+        var response = read.get();
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .headers(headers)
+                .body(response.getBody());
+    }
+
+    /**
+     * {@code If-None-Match} takes precedence and is compared weakly, as RFC 9110 requires for GET;
+     * {@code If-Modified-Since} is only consulted without it, at second precision.
+     */
+    public boolean isNotModified(String etag, Instant lastModified) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        var request = attributes.getRequest();
+
+        var ifNoneMatch = Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH));
+        if (!ifNoneMatch.isEmpty()) {
+            for (var header : ifNoneMatch) {
+                for (var candidate : header.split(",")) {
+                    var value = candidate.trim();
+                    if (value.startsWith("W/")) value = value.substring(2);
+                    if (value.equals("*") || value.equals(etag)) return true;
+                }
+            }
+            return false;
+        }
+
+        if (lastModified == null) return false;
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return ifModifiedSince >= 0 && lastModified.getEpochSecond() <= ifModifiedSince / 1000;
+    }
+
+    private String tag(String state) {
+        var window = System.currentTimeMillis() / Math.max(properties.getMaxAge(), 1);
+        var language = LocaleContextHolder.getLocale().toLanguageTag();
+        return "\"" + BasewareUtils.sha256Hex(state + ":" + window + ":" + language) + "\"";
+    }
+}
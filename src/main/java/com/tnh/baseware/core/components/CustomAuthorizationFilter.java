@@ -3,8 +3,8 @@ package com.tnh.baseware.core.components;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tnh.baseware.core.entities.user.CustomUserDetails;
 import com.tnh.baseware.core.properties.SecurityProperties;
-import com.tnh.baseware.core.properties.SecurityUriProperties;
 import com.tnh.baseware.core.securities.JwtTokenService;
+import com.tnh.baseware.core.securities.VerifiedToken;
 import com.tnh.baseware.core.services.MessageService;
 import com.tnh.baseware.core.services.user.imp.PrivilegeCacheService;
 import com.tnh.baseware.core.utils.LogStyleHelper;
@@ -17,6 +17,7 @@ import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.annotation.Order;
 import org.springframework.lang.NonNull;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
@@ -31,13 +32,13 @@ public class CustomAuthorizationFilter extends BasewareCoreFilter {
     JwtTokenService jwtTokenService;
     SecurityProperties securityProperties;
 
-    public CustomAuthorizationFilter(SecurityUriProperties securityUriProperties,
+    public CustomAuthorizationFilter(BypassUriMatcher bypassUriMatcher,
             MessageService messageService,
             ObjectMapper objectMapper,
             PrivilegeCacheService privilegeCacheService,
             JwtTokenService jwtTokenService,
             SecurityProperties securityProperties) {
-        super(securityUriProperties, messageService, objectMapper, privilegeCacheService);
+        super(bypassUriMatcher, messageService, objectMapper, privilegeCacheService);
         this.jwtTokenService = jwtTokenService;
         this.securityProperties = securityProperties;
     }
@@ -50,7 +51,7 @@ public class CustomAuthorizationFilter extends BasewareCoreFilter {
         var requestURI = request.getRequestURI();
         var requestMethod = request.getMethod();
 
-        if (isBypassUri(requestURI)) {
+        if (isBypassUri(request)) {
 
             log.debug(LogStyleHelper.debug("Bypassing JWT filter for URI: {}"), requestURI);
             filterChain.doFilter(request, response);
@@ -75,35 +76,39 @@ public class CustomAuthorizationFilter extends BasewareCoreFilter {
         log.debug(LogStyleHelper.debug("JWT Token received: {}"), accessToken);
 
         try {
-            var username = jwtTokenService.extractUsername(accessToken);
-            var sessionId = jwtTokenService.extractSessionId(accessToken);
+            // reuses the token verified by JwtAuthenticationFilter earlier in this request
+            var verifiedToken = jwtTokenService.verifyToken(request, accessToken)
+                    .filter(VerifiedToken::isUsable)
+                    .orElse(null);
 
-            if (username.isEmpty() || sessionId.isEmpty()) {
+            if (verifiedToken == null) {
                 log.debug(LogStyleHelper.debug("JWT token is invalid or expired"));
                 sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "error.unauthorized");
                 return;
             }
 
-            if (!jwtTokenService.isTokenValid(accessToken, userDetails)) {
+            var username = verifiedToken.username();
+            if (!jwtTokenService.isTokenValid(verifiedToken, userDetails)) {
                 log.debug(LogStyleHelper.debug("JWT token is invalid or expired"));
                 sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "error.unauthorized");
                 return;
             }
 
             // the user is super admin, grant access to all resources
-            if (Boolean.TRUE.equals(userDetails.getUser().getSuperAdmin())) {
+            if (userDetails.isSuperAdmin()) {
                 log.debug(LogStyleHelper.debug("User '{}' is super admin, granting access to all resources"),
                         userDetails.getUsername());
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            var privileges = securityProperties.getJwt().isAllowMultipleDevices()
-                    ? privilegeCacheService.getPrivileges(String.valueOf(userDetails.getUser().getId()),
-                            sessionId.get())
-                    : privilegeCacheService.getPrivileges(String.valueOf(userDetails.getUser().getId()));
+            // served from the near-cache; the principal's authorities rebuild it after an invalidation
+            var sessionId = securityProperties.getJwt().isAllowMultipleDevices() ? verifiedToken.sessionId() : null;
+            var matcher = privilegeCacheService.getMatcher(String.valueOf(userDetails.getId()), sessionId,
+                    () -> new PrivilegeCacheService.PrivilegeSet(userDetails.getRoleSet(),
+                            userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList()));
 
-            if (!privilegeCacheService.hasPrivilege(requestMethod, requestURI, privileges)) {
+            if (!matcher.matches(requestMethod, requestURI)) {
                 log.debug(LogStyleHelper.debug("User '{}' does not have access to '{} {}'"), username, requestMethod,
                         requestURI);
                 sendErrorResponse(response, HttpServletResponse.SC_FORBIDDEN, "access.denied");
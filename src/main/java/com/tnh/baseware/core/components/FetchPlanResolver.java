@@ -0,0 +1,133 @@
+package com.tnh.baseware.core.components;
+
+import com.tnh.baseware.core.annotations.FetchPlan;
+import com.tnh.baseware.core.utils.LogStyleHelper;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Subgraph;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Works out which to-one associations a service's list reads should fetch up front, so mapping a
+ * page of entities to DTOs does not load them one row at a time. A {@link FetchPlan} on the service
+ * wins; otherwise every {@code @ManyToOne}/{@code @OneToOne} the DTO exposes, as a nested DTO or as
+ * flattened fields such as {@code ownerName}, is fetched up to {@link #MAX_DEPTH} levels deep.
+ * Collections are never part of a plan: fetch-joining them would page in memory, so they are left
+ * to Hibernate's batch fetching.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class FetchPlanResolver {
+
+    private static final int MAX_DEPTH = 2;
+
+    EntityManagerFactory entityManagerFactory;
+    Map<Class<?>, List<String>> plans = new ConcurrentHashMap<>();
+
+    public List<String> resolve(Class<?> serviceClass, Class<?> entityClass, Class<?> dtoClass) {
+        return plans.computeIfAbsent(serviceClass, key -> {
+            var declared = AnnotatedElementUtils.findMergedAnnotation(key, FetchPlan.class);
+            var paths = new TreeSet<String>();
+            if (declared != null) {
+                paths.addAll(Arrays.asList(declared.value()));
+            } else {
+                derive(entityManagerFactory.getMetamodel().managedType(entityClass), dtoClass, "", 1, paths);
+            }
+            log.debug(LogStyleHelper.debug("Fetch plan for {}: {}"), key.getSimpleName(), paths);
+            return List.copyOf(paths);
+        });
+    }
+
+    /**
+     * Builds a graph for the given paths. Paths are sorted, so a parent association is always added
+     * before the subgraph that extends it.
+     */
+    public <E> EntityGraph<E> toEntityGraph(EntityManager entityManager, Class<E> entityClass, List<String> paths) {
+        var graph = entityManager.createEntityGraph(entityClass);
+        var subgraphs = new HashMap<String, Subgraph<?>>();
+
+        for (var path : paths) {
+            var segments = path.split("\\.");
+            Subgraph<?> parent = null;
+            var prefix = new StringBuilder();
+            for (var i = 0; i < segments.length - 1; i++) {
+                prefix.append(prefix.isEmpty() ? "" : ".").append(segments[i]);
+                var owner = parent;
+                var segment = segments[i];
+                parent = subgraphs.computeIfAbsent(prefix.toString(),
+                        key -> owner == null ? graph.addSubgraph(segment) : owner.addSubgraph(segment));
+            }
+
+            var leaf = segments[segments.length - 1];
+            if (parent == null) {
+                graph.addAttributeNodes(leaf);
+            } else {
+                parent.addAttributeNodes(leaf);
+            }
+        }
+        return graph;
+    }
+
+    private void derive(ManagedType<?> type, Class<?> dtoType, String prefix, int depth, Set<String> paths) {
+        for (var attribute : type.getSingularAttributes()) {
+            if (!isToOne(attribute)) continue;
+
+            var name = attribute.getName();
+            var dtoField = ReflectionUtils.findField(dtoType, name);
+            if (dtoField != null && !BeanUtils.isSimpleValueType(dtoField.getType())) {
+                paths.add(prefix + name);
+                if (depth < MAX_DEPTH && attribute.getType() instanceof ManagedType<?> target) {
+                    derive(target, dtoField.getType(), prefix + name + ".", depth + 1, paths);
+                }
+            } else if (isFlattened(dtoType, name)) {
+                paths.add(prefix + name);
+            }
+        }
+    }
+
+    private static boolean isToOne(SingularAttribute<?, ?> attribute) {
+        var kind = attribute.getPersistentAttributeType();
+        return kind == Attribute.PersistentAttributeType.MANY_TO_ONE
+                || kind == Attribute.PersistentAttributeType.ONE_TO_ONE;
+    }
+
+    /**
+     * A DTO field like {@code taskListName} reads through the association. {@code taskListId} does
+     * not: the id is available on an uninitialized proxy.
+     */
+    private static boolean isFlattened(Class<?> dtoType, String association) {
+        var flattened = new boolean[1];
+        ReflectionUtils.doWithFields(dtoType, field -> {
+            var name = field.getName();
+            if (name.length() > association.length()
+                    && name.startsWith(association)
+                    && Character.isUpperCase(name.charAt(association.length()))
+                    && !name.equals(association + "Id")) {
+                flattened[0] = true;
+            }
+        }, field -> !Modifier.isStatic(field.getModifiers()));
+        return flattened[0];
+    }
+}
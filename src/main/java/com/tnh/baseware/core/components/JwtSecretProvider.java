@@ -1,5 +1,9 @@
 package com.tnh.baseware.core.components;
 
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.tnh.baseware.core.exceptions.BWCJwtProcessingException;
 import com.tnh.baseware.core.properties.SecurityProperties;
 import jakarta.annotation.PostConstruct;
 import lombok.AccessLevel;
@@ -14,6 +18,8 @@ public class JwtSecretProvider {
 
     final SecurityProperties securityProperties;
     byte[] decodedSecret;
+    MACSigner signer;
+    MACVerifier verifier;
 
     public JwtSecretProvider(SecurityProperties securityProperties) {
         this.securityProperties = securityProperties;
@@ -22,9 +28,24 @@ public class JwtSecretProvider {
     @PostConstruct
     public void init() {
         this.decodedSecret = Base64.getDecoder().decode(securityProperties.getJwt().getSecretKey());
+        try {
+            // MACSigner and MACVerifier are immutable and thread-safe, so one instance serves every request
+            this.signer = new MACSigner(decodedSecret);
+            this.verifier = new MACVerifier(decodedSecret);
+        } catch (JOSEException e) {
+            throw new BWCJwtProcessingException("Invalid JWT secret key", e);
+        }
     }
 
     public byte[] getDecodedSecretKey() {
         return decodedSecret;
     }
+
+    public MACSigner getSigner() {
+        return signer;
+    }
+
+    public MACVerifier getVerifier() {
+        return verifier;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.tnh.baseware.core.components;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Keeps the first {@code limit} bytes written through a tee stream and counts the rest, so tracked
+ * bodies never cost more heap than the configured cap.
+ */
+public final class PayloadCapture {
+
+    private static final String TRUNCATED_SUFFIX = "... [truncated]";
+
+    private final byte[] buffer;
+    private int count;
+    private long total;
+
+    public PayloadCapture(int limit) {
+        this.buffer = new byte[Math.max(limit, 0)];
+    }
+
+    /**
+     * Whether a body of the given content type should be captured at all. Types are matched by
+     * prefix, so {@code "image/"} skips every image and {@code "multipart/"} every upload.
+     */
+    public static boolean isCapturable(String contentType, Collection<String> skippedContentTypes) {
+        if (contentType == null) return true;
+
+        var type = contentType.toLowerCase(Locale.ROOT);
+        for (var skipped : skippedContentTypes) {
+            if (type.startsWith(skipped)) return false;
+        }
+        return true;
+    }
+
+    public void write(int b) {
+        if (count < buffer.length) buffer[count++] = (byte) b;
+        total++;
+    }
+
+    public void write(byte[] b, int off, int len) {
+        var copied = Math.min(len, buffer.length - count);
+        if (copied > 0) {
+            System.arraycopy(b, off, buffer, count, copied);
+            count += copied;
+        }
+        total += len;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    public boolean isTruncated() {
+        return total > count;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public String toString(Charset charset) {
+        if (count == 0) return "";
+
+        var content = new String(buffer, 0, count, charset);
+        return isTruncated() ? content + TRUNCATED_SUFFIX : content;
+    }
+}
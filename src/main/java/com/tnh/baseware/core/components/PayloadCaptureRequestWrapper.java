@@ -0,0 +1,124 @@
+package com.tnh.baseware.core.components;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * Tees the request body into a {@link PayloadCapture} while the application reads it. Unlike
+ * {@code ContentCachingRequestWrapper} nothing beyond the capture limit is kept, and skipped content
+ * types such as multipart uploads are passed through untouched. Form posts the container parses
+ * through {@code getParameter*} never pass the tee, so their parameters are captured instead.
+ */
+public class PayloadCaptureRequestWrapper extends HttpServletRequestWrapper {
+
+    private final PayloadCapture capture;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    public PayloadCaptureRequestWrapper(HttpServletRequest request, int limit, Collection<String> skippedContentTypes) {
+        super(request);
+        this.capture = PayloadCapture.isCapturable(request.getContentType(), skippedContentTypes)
+                ? new PayloadCapture(limit)
+                : null;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (capture == null) return super.getInputStream();
+        if (inputStream == null) inputStream = new TeeInputStream(super.getInputStream(), capture);
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (capture == null) return super.getReader();
+        if (reader == null) reader = new BufferedReader(new InputStreamReader(getInputStream(), charset()));
+        return reader;
+    }
+
+    public String getCapturedPayload() {
+        if (capture == null) return "";
+        if (inputStream == null && capture.getTotal() == 0 && isFormPost()) captureParameters();
+        return capture.toString(charset());
+    }
+
+    private boolean isFormPost() {
+        var contentType = getContentType();
+        return contentType != null
+                && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                && HttpMethod.POST.matches(getMethod());
+    }
+
+    private void captureParameters() {
+        var charset = charset();
+        var form = new StringJoiner("&");
+        getParameterMap().forEach((name, values) -> {
+            for (var value : values) {
+                form.add(URLEncoder.encode(name, charset) + "=" + URLEncoder.encode(value, charset));
+            }
+        });
+        var bytes = form.toString().getBytes(charset);
+        capture.write(bytes, 0, bytes.length);
+    }
+
+    private Charset charset() {
+        return Optional.ofNullable(getCharacterEncoding())
+                .map(Charset::forName)
+                .orElse(StandardCharsets.UTF_8);
+    }
+
+    private static final class TeeInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final PayloadCapture capture;
+
+        TeeInputStream(ServletInputStream delegate, PayloadCapture capture) {
+            this.delegate = delegate;
+            this.capture = capture;
+        }
+
+        @Override
+        public int read() throws IOException {
+            var b = delegate.read();
+            if (b >= 0) capture.write(b);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            var read = delegate.read(b, off, len);
+            if (read > 0) capture.write(b, off, read);
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.tnh.baseware.core.components;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Writes the response straight through to the client and tees only the first bytes into a
+ * {@link PayloadCapture}. Capture is decided on the first write, once the content type is known, and
+ * is skipped for binary, streaming and attachment responses such as file downloads.
+ */
+public class PayloadCaptureResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int limit;
+    private final Collection<String> skippedContentTypes;
+    private PayloadCapture capture;
+    private boolean decided;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    public PayloadCaptureResponseWrapper(HttpServletResponse response, int limit, Collection<String> skippedContentTypes) {
+        super(response);
+        this.limit = limit;
+        this.skippedContentTypes = skippedContentTypes;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) outputStream = new TeeOutputStream(super.getOutputStream());
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), charset()));
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) writer.flush();
+        super.flushBuffer();
+    }
+
+    public void flushWriter() {
+        if (writer != null) writer.flush();
+    }
+
+    public byte[] getCapturedBytes() {
+        return capture == null ? new byte[0] : capture.toByteArray();
+    }
+
+    public boolean isCaptured() {
+        return capture != null;
+    }
+
+    public boolean isTruncated() {
+        return capture != null && capture.isTruncated();
+    }
+
+    public Charset charset() {
+        return Optional.ofNullable(getCharacterEncoding())
+                .map(Charset::forName)
+                .orElse(StandardCharsets.UTF_8);
+    }
+
+    private PayloadCapture capture() {
+        if (!decided) {
+            decided = true;
+            var disposition = getHeader("Content-Disposition");
+            var attachment = disposition != null && disposition.toLowerCase(Locale.ROOT).startsWith("attachment");
+            if (!attachment && PayloadCapture.isCapturable(getContentType(), skippedContentTypes)) {
+                capture = new PayloadCapture(limit);
+            }
+        }
+        return capture;
+    }
+
+    private final class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            var target = capture();
+            if (target != null) target.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            var target = capture();
+            if (target != null) target.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.tnh.baseware.core.components;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tnh.baseware.core.annotations.CachedResponse;
+import com.tnh.baseware.core.exceptions.BWCGenericRuntimeException;
+import com.tnh.baseware.core.properties.SystemProperties;
+import com.tnh.baseware.core.resources.GenericResource;
+import com.tnh.baseware.core.services.EntityVersionService;
+import com.tnh.baseware.core.services.ResultCacheService;
+import com.tnh.baseware.core.utils.LogStyleHelper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the final JSON bytes of {@link CachedResponse} endpoints in memory, plain and gzipped, so a
+ * hit skips the handler, the mapping, link building and serialization and is written to the
+ * response as is. Keys combine the handler, the request URL, the response language and the current
+ * versions of the entity types behind the response, so writes on any node stop addressing the old
+ * bytes at once. Runs as a handler interceptor, after authentication and authorization.
+ */
+@Slf4j
+@ControllerAdvice
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ResponseBytesCache implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    private static final String KEY_ATTRIBUTE = ResponseBytesCache.class.getName() + ".key";
+    private static final String GZIP = "gzip";
+    private static final List<String> STORED_HEADERS = List.of(
+            HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL, HttpHeaders.VARY);
+
+    ObjectMapper objectMapper;
+    ResultCacheService resultCacheService;
+    EntityVersionService entityVersionService;
+    ConditionalGetEvaluator conditionalGet;
+    SystemProperties.ResponseCache properties;
+    Cache<String, Entry> responses;
+
+    public ResponseBytesCache(ObjectMapper objectMapper,
+                              ResultCacheService resultCacheService,
+                              EntityVersionService entityVersionService,
+                              ConditionalGetEvaluator conditionalGet,
+                              SystemProperties systemProperties) {
+        this.objectMapper = objectMapper;
+        this.resultCacheService = resultCacheService;
+        this.entityVersionService = entityVersionService;
+        this.conditionalGet = conditionalGet;
+        this.properties = systemProperties.getResponseCache();
+        this.responses = CacheBuilder.newBuilder()
+                .maximumWeight(properties.getMaxBytes())
+                .weigher((String key, Entry entry) -> entry.weight())
+                .expireAfterWrite(properties.getTtl(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!properties.isEnabled() || !HttpMethod.GET.matches(request.getMethod())
+                || !(handler instanceof HandlerMethod handlerMethod)) return true;
+
+        var key = key(request, handlerMethod);
+        if (key == null) return true;
+
+        var cached = responses.getIfPresent(key);
+        if (cached == null) {
+            request.setAttribute(KEY_ATTRIBUTE, key);
+            return true;
+        }
+
+        if (conditionalGet.isNotModified(cached.headers().get(HttpHeaders.ETAG), cached.lastModified())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            cached.headers().forEach(response::setHeader);
+            return false;
+        }
+        write(request, response, cached);
+        return false;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.isEnabled() && AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    /**
+     * Serializes a cacheable response once, stores it and writes the stored bytes itself; the null
+     * return tells Spring MVC that the body has been written.
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)) return body;
+
+        var key = (String) servletRequest.getServletRequest().getAttribute(KEY_ATTRIBUTE);
+        if (key == null || servletResponse.getServletResponse().getStatus() != HttpStatus.OK.value()) return body;
+
+        Entry entry;
+        try {
+            var bytes = objectMapper.writeValueAsBytes(body);
+            var headers = new LinkedHashMap<String, String>();
+            for (var name : STORED_HEADERS) {
+                var value = response.getHeaders().getFirst(name);
+                if (value != null) headers.put(name, value);
+            }
+            var lastModified = response.getHeaders().getLastModified();
+            entry = new Entry(bytes, gzip(bytes), selectedContentType.toString(), Map.copyOf(headers),
+                    lastModified < 0 ? null : Instant.ofEpochMilli(lastModified));
+        } catch (IOException e) {
+            log.warn(LogStyleHelper.warn("Error caching response bytes for {}: {}"), key, e.getMessage());
+            return body;
+        }
+
+        responses.put(key, entry);
+        try {
+            write(servletRequest.getServletRequest(), servletResponse.getServletResponse(), entry);
+        } catch (IOException e) {
+            throw new BWCGenericRuntimeException("Error writing cached response", e);
+        }
+        return null;
+    }
+
+    private String key(HttpServletRequest request, HandlerMethod handlerMethod) {
+        var cachedResponse = handlerMethod.getMethodAnnotation(CachedResponse.class);
+        if (cachedResponse == null) return null;
+
+        var key = new StringBuilder(handlerMethod.getBeanType().getName())
+                .append('#').append(handlerMethod.getMethod().getName());
+        if (cachedResponse.versioned()) {
+            if (!(handlerMethod.getBean() instanceof GenericResource<?, ?, ?, ?> resource)) return null;
+
+            var entityClass = resource.getService().getEntityClass();
+            if (!resultCacheService.isCached(entityClass)) return null;
+
+            var entityClasses = new ArrayList<Class<?>>(resultCacheService.versionedTypes(entityClass));
+            entityClasses.addAll(List.of(cachedResponse.dependsOn()));
+            for (var type : entityClasses) {
+                var version = entityVersionService.current(type);
+                if (version.isEmpty()) return null;
+                key.append(':').append(version.getAsLong());
+            }
+        }
+        return key.append(':').append(LocaleContextHolder.getLocale().toLanguageTag())
+                .append(':').append(ServletUriComponentsBuilder.fromRequest(request).toUriString())
+                .toString();
+    }
+
+    private static void write(HttpServletRequest request, HttpServletResponse response, Entry entry)
+            throws IOException {
+        var gzip = entry.gzipped() != null && acceptsGzip(request);
+        var bytes = gzip ? entry.gzipped() : entry.body();
+
+        response.setStatus(HttpStatus.OK.value());
+        entry.headers().forEach(response::setHeader);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        response.setContentType(entry.contentType());
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    private byte[] gzip(byte[] bytes) throws IOException {
+        if (bytes.length < properties.getGzipMinSize()) return null;
+
+        var output = new ByteArrayOutputStream(bytes.length / 4);
+        try (var gzip = new GZIPOutputStream(output)) {
+            gzip.write(bytes);
+        }
+        return output.toByteArray();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        for (var header : Collections.list(request.getHeaders(HttpHeaders.ACCEPT_ENCODING))) {
+            for (var coding : header.split(",")) {
+                var value = coding.trim();
+                if (value.startsWith(GZIP) && !value.replace(" ", "").endsWith("q=0")) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stored response: the JSON bytes, their gzip encoding when large enough, and the validator and
+     * caching headers the handler set.
+     */
+    private record Entry(byte[] body, byte[] gzipped, String contentType, Map<String, String> headers,
+                         Instant lastModified) {
+
+        int weight() {
+            return body.length + (gzipped == null ? 0 : gzipped.length);
+        }
+    }
+}
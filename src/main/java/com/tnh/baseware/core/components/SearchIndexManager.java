@@ -0,0 +1,113 @@
+package com.tnh.baseware.core.components;
+
+import com.tnh.baseware.core.annotations.Searchable;
+import com.tnh.baseware.core.utils.LogStyleHelper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * Prepares Postgres for the search operators: the {@code unaccent} and {@code pg_trgm} extensions,
+ * an immutable {@code f_unaccent} wrapper usable in index expressions, and for every
+ * {@link Searchable} column a GIN full-text index and a GIN trigram index. Indexes are built
+ * concurrently after startup, so large tables stay writable meanwhile. A concurrent build that fails
+ * leaves an INVALID index behind, which {@code IF NOT EXISTS} would keep forever; such indexes are
+ * dropped and rebuilt, and dropped again if the rebuild fails too.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SearchIndexManager {
+
+    private static final List<String> SETUP = List.of(
+            "CREATE EXTENSION IF NOT EXISTS unaccent",
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            """
+            CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text
+                LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+                AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$
+            """);
+
+    JdbcTemplate jdbcTemplate;
+    EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void initialize() {
+        try {
+            SETUP.forEach(jdbcTemplate::execute);
+        } catch (Exception e) {
+            log.error(LogStyleHelper.error("Error preparing search functions: {}"), e.getMessage());
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        var sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        for (var entity : entityManagerFactory.getMetamodel().getEntities()) {
+            if (!(sessionFactory.getMappingMetamodel().getEntityDescriptor(entity.getJavaType())
+                    instanceof AbstractEntityPersister persister)) continue;
+
+            for (var attribute : entity.getAttributes()) {
+                if (attribute.getJavaMember() instanceof Field field && field.isAnnotationPresent(Searchable.class)) {
+                    createIndexes(persister.getTableName(), persister.getPropertyColumnNames(attribute.getName())[0]);
+                }
+            }
+        }
+    }
+
+    private void createIndexes(String table, String column) {
+        createIndex("idx_%s_%s_fts".formatted(table, column),
+                "%s USING gin (to_tsvector('simple', f_unaccent(coalesce(%s, ''))))".formatted(table, column));
+        createIndex("idx_%s_%s_trgm".formatted(table, column),
+                "%s USING gin (f_unaccent(lower(%s)) gin_trgm_ops)".formatted(table, column));
+    }
+
+    private void createIndex(String name, String definition) {
+        try {
+            var valid = isValid(name);
+            if (Boolean.TRUE.equals(valid)) return;
+            if (valid != null) {
+                log.warn(LogStyleHelper.warn("Search index {} is invalid, rebuilding it"), name);
+                jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+            }
+
+            jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS %s ON %s".formatted(name, definition));
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Could not create search index {}: {}"), name, e.getMessage());
+            dropInvalid(name);
+        }
+    }
+
+    /**
+     * Whether the index is usable, or null when it does not exist.
+     */
+    private Boolean isValid(String name) {
+        return jdbcTemplate.query("SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)",
+                rs -> rs.next() ? rs.getBoolean(1) : null, name);
+    }
+
+    private void dropInvalid(String name) {
+        try {
+            if (Boolean.FALSE.equals(isValid(name))) {
+                jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+            }
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Could not drop invalid search index {}: {}"), name, e.getMessage());
+        }
+    }
+}
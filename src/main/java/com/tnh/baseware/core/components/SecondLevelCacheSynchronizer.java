@@ -0,0 +1,192 @@
+package com.tnh.baseware.core.components;
+
+import com.tnh.baseware.core.properties.SystemProperties;
+import com.tnh.baseware.core.utils.LogStyleHelper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps the in-process second-level cache of every node consistent. Hibernate updates the local
+ * regions itself; once a transaction that wrote a cached entity or collection commits, the entity
+ * names are published on Redis and the other nodes evict that entity region, all collection
+ * regions and the query result regions.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SecondLevelCacheSynchronizer implements MessageListener, PostInsertEventListener,
+        PostUpdateEventListener, PostDeleteEventListener, PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    private static final String SEPARATOR = "|";
+
+    String nodeId = UUID.randomUUID().toString();
+    SessionFactoryImplementor sessionFactory;
+    RedisTemplate<String, Object> redisTemplate;
+    RedisMessageListenerContainer listenerContainer;
+    String channel;
+
+    public SecondLevelCacheSynchronizer(EntityManagerFactory entityManagerFactory,
+                                        RedisTemplate<String, Object> redisTemplate,
+                                        RedisMessageListenerContainer listenerContainer,
+                                        SystemProperties systemProperties) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.channel = systemProperties.getSecondLevelCache().getChannel();
+    }
+
+    @PostConstruct
+    public void register() {
+        if (!sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()) return;
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+        var registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(event.getPersister());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getPersister());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getPersister());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        var payload = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (payload == null) return;
+
+        var parts = payload.toString().split("\\" + SEPARATOR, 2);
+        if (parts.length != 2 || nodeId.equals(parts[0])) return;
+
+        var entityName = parts[1];
+        var cache = sessionFactory.getCache();
+        var persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(entityName);
+        if (persister != null && persister.canWriteToCache()) cache.evictEntityData(entityName);
+        cache.evictCollectionData();
+        cache.evictQueryRegions();
+        log.debug(LogStyleHelper.debug("Evicted second-level cache for {} changed on another node"), entityName);
+    }
+
+    /**
+     * For bulk DML, which Hibernate applies to the local regions without firing entity events.
+     */
+    public void changed(Class<?> entityClass) {
+        var persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(entityClass);
+        if (persister != null) changed(persister);
+    }
+
+    private void changed(EntityPersister persister) {
+        if (persister.canWriteToCache()) publishAfterCommit(persister.getEntityName());
+    }
+
+    private void collectionChanged(AbstractCollectionEvent event) {
+        var persister = sessionFactory.getMappingMetamodel().getCollectionDescriptor(event.getCollection().getRole());
+        if (persister.hasCache()) publishAfterCommit(event.getAffectedOwnerEntityName());
+    }
+
+    private void publishAfterCommit(String entityName) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(entityName);
+            return;
+        }
+
+        for (var synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEviction pending && pending.owner() == this) {
+                pending.entityNames().add(entityName);
+                return;
+            }
+        }
+        var pending = new PendingEviction(this, new LinkedHashSet<>());
+        pending.entityNames().add(entityName);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    private void publish(String entityName) {
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + SEPARATOR + entityName);
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error publishing second-level cache eviction for {}: {}"),
+                    entityName, e.getMessage());
+        }
+    }
+
+    /**
+     * Entity names written by the current transaction, published together after it commits.
+     */
+    private record PendingEviction(SecondLevelCacheSynchronizer owner, Set<String> entityNames)
+            implements TransactionSynchronization {
+
+        @Override
+        public void afterCommit() {
+            entityNames.forEach(owner::publish);
+        }
+    }
+}
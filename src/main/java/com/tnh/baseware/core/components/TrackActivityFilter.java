@@ -1,10 +1,9 @@
 package com.tnh.baseware.core.components;
 
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tnh.baseware.core.entities.audit.TrackActivity;
-import com.tnh.baseware.core.properties.SecurityUriProperties;
 import com.tnh.baseware.core.properties.SystemProperties;
-import com.tnh.baseware.core.repositories.audit.ITrackActivityRepository;
 import com.tnh.baseware.core.services.MessageService;
 import com.tnh.baseware.core.services.user.imp.PrivilegeCacheService;
 import com.tnh.baseware.core.utils.LogStyleHelper;
@@ -15,15 +14,14 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.core.annotation.Order;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.text.Normalizer;
 import java.time.Instant;
 import java.util.Optional;
@@ -34,17 +32,17 @@ import java.util.Optional;
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class TrackActivityFilter extends BasewareCoreFilter {
 
-    ITrackActivityRepository trackActivityRepository;
+    ObjectProvider<TrackActivityWriter> trackActivityWriter;
     SystemProperties systemProperties;
 
-    public TrackActivityFilter(SecurityUriProperties securityUriProperties,
+    public TrackActivityFilter(BypassUriMatcher bypassUriMatcher,
                                MessageService messageService,
                                ObjectMapper objectMapper,
                                PrivilegeCacheService privilegeCacheService,
-                               ITrackActivityRepository trackActivityRepository,
+                               ObjectProvider<TrackActivityWriter> trackActivityWriter,
                                SystemProperties systemProperties) {
-        super(securityUriProperties, messageService, objectMapper, privilegeCacheService);
-        this.trackActivityRepository = trackActivityRepository;
+        super(bypassUriMatcher, messageService, objectMapper, privilegeCacheService);
+        this.trackActivityWriter = trackActivityWriter;
         this.systemProperties = systemProperties;
     }
 
@@ -54,15 +52,17 @@ public class TrackActivityFilter extends BasewareCoreFilter {
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
 
         var requestURI = request.getRequestURI();
-        if (!systemProperties.isTrackingActive() || isBypassUri(requestURI)) {
-            log.debug(LogStyleHelper.debug("Skipping activity tracking for URI: {} (tracking active: {}, bypass: {})"),
-                    requestURI, systemProperties.isTrackingActive(), isBypassUri(requestURI));
+        if (!systemProperties.isTrackingActive() || isBypassUri(request)) {
+            log.debug(LogStyleHelper.debug("Skipping activity tracking for URI: {}"), requestURI);
             filterChain.doFilter(request, response);
             return;
         }
 
-        var wrappedRequest = new ContentCachingRequestWrapper(request);
-        var wrappedResponse = new ContentCachingResponseWrapper(response);
+        var tracking = systemProperties.getTracking();
+        var wrappedRequest = new PayloadCaptureRequestWrapper(request,
+                tracking.getMaxPayloadSize(), tracking.getSkippedContentTypes());
+        var wrappedResponse = new PayloadCaptureResponseWrapper(response,
+                tracking.getMaxPayloadSize(), tracking.getSkippedContentTypes());
         var startTime = System.currentTimeMillis();
 
         log.debug(LogStyleHelper.debug("Starting activity tracking for {} request to: {}"),
@@ -84,70 +84,80 @@ public class TrackActivityFilter extends BasewareCoreFilter {
             throw e;
         } finally {
             try {
-                var requestPayload = processUTF8Content(wrappedRequest.getContentAsByteArray());
-                activityBuilder.requestPayload(requestPayload);
+                activityBuilder.requestPayload(wrappedRequest.getCapturedPayload());
 
-                var responsePayload = processUTF8Content(wrappedResponse.getContentAsByteArray());
-                var responseMessage = extractMessageFromResponse(responsePayload);
-                activityBuilder.responsePayload(responseMessage);
+                wrappedResponse.flushWriter();
+                activityBuilder.responsePayload(extractMessageFromResponse(wrappedResponse));
 
                 Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
                         .ifPresent(auth -> activityBuilder.username(auth.getName()));
 
-                var activity = activityBuilder.build();
-                trackActivityRepository.save(activity);
-
                 var processingTime = System.currentTimeMillis() - startTime;
+                var endpoint = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                var activity = activityBuilder
+                        .endpoint(endpoint != null ? endpoint.toString() : requestURI)
+                        .duration(processingTime)
+                        .build();
+                trackActivityWriter.ifAvailable(writer -> writer.write(activity));
+
                 log.debug(LogStyleHelper.debug("Activity tracked for {} request to: {} by user: {} ({}ms, status: {})"),
                         activity.getMethod(), activity.getRequestUrl(),
                         activity.getUsername() != null ? activity.getUsername() : "anonymous",
                         processingTime, activity.getStatus());
             } catch (Exception e) {
                 log.error(LogStyleHelper.error("Failed to save activity tracking data: {}"), e.getMessage());
-            } finally {
-                wrappedResponse.copyBodyToResponse();
             }
         }
     }
 
-    private String processUTF8Content(byte[] contentBytes) {
-        if (contentBytes == null || contentBytes.length == 0) {
-            return "";
+    private String extractMessageFromResponse(PayloadCaptureResponseWrapper response) {
+        if (!response.isCaptured()) {
+            return "Response body not captured (" + Optional.ofNullable(response.getContentType()).orElse("unknown") + ")";
         }
 
-        try {
-            return new String(contentBytes, StandardCharsets.UTF_8);
-        } catch (Exception e) {
-            log.warn(LogStyleHelper.warn("Failed to decode content as UTF-8: {}"), e.getMessage());
-            return new String(contentBytes, StandardCharsets.ISO_8859_1);
+        var content = response.getCapturedBytes();
+        var start = 0;
+        while (start < content.length && Character.isWhitespace(content[start])) start++;
+        if (content.length - start < 2) {
+            return content.length == 0 ? "Empty response" : "Empty response content";
         }
-    }
 
-    private String extractMessageFromResponse(String content) {
-        if (content == null || content.isBlank()) {
-            return "Empty response";
+        if (content[start] == '{') {
+            return extractMessageFromJson(content, response.isTruncated());
         }
 
-        try {
-            if (content.length() < 2) {
-                return "Empty response content";
+        var normalizedText = normalizeText(new String(content, response.charset()));
+        return normalizedText.length() > 500 || response.isTruncated()
+                ? normalizedText.substring(0, Math.min(normalizedText.length(), 500)) + "... [truncated]"
+                : normalizedText;
+    }
+
+    /**
+     * Reads top-level fields with a streaming parser and stops at "message", skipping nested values
+     * without building a tree. A body cut off by the capture limit still yields a message that came
+     * before the cut.
+     */
+    private String extractMessageFromJson(byte[] content, boolean truncated) {
+        var fields = 0;
+        try (var parser = objectMapper.getFactory().createParser(content)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return "Non-JSON response (" + content.length + " bytes)";
             }
 
-            if (content.trim().startsWith("{")) {
-                var jsonNode = objectMapper.readTree(content);
-                if (jsonNode.has("message")) {
-                    String message = jsonNode.get("message").asText();
-                    return normalizeText(message);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var name = parser.currentName();
+                var value = parser.nextToken();
+                if ("message".equals(name) && value.isScalarValue()) {
+                    return normalizeText(parser.getValueAsString());
                 }
-                return !jsonNode.isEmpty() ? "JSON response with " + jsonNode.size() + " fields" : "Empty JSON";
+                parser.skipChildren();
+                fields++;
             }
-
-            var normalizedText = normalizeText(content);
-            return normalizedText.length() > 500 ? normalizedText.substring(0, 500) + "... [truncated]"
-                    : normalizedText;
+            return fields > 0 ? "JSON response with " + fields + " fields" : "Empty JSON";
         } catch (Exception e) {
+            if (truncated) return "JSON response with " + fields + "+ fields [truncated]";
             log.debug(LogStyleHelper.debug("Could not parse response as JSON: {}"), e.getMessage());
-            return "Non-JSON response (" + content.length() + " chars)";
+            return "Non-JSON response (" + content.length + " bytes)";
         }
     }
 
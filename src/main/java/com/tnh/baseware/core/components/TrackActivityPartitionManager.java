@@ -0,0 +1,392 @@
+package com.tnh.baseware.core.components;
+
+import com.tnh.baseware.core.exceptions.BWCGenericRuntimeException;
+import com.tnh.baseware.core.properties.SystemProperties;
+import com.tnh.baseware.core.utils.LogStyleHelper;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Owns the physical layout of activity tracking. {@code track_activities} and its payload side
+ * table are range-partitioned by month (UTC) on {@code action_date}; this component creates the
+ * schema before Hibernate starts, migrates the rows of the earlier unpartitioned table into it once
+ * the application is up, keeps partitions ahead of the clock, moves rows stranded in the default
+ * partitions into monthly ones, drops partitions past the retention window and refreshes the hourly
+ * rollups in {@code track_activity_rollups}. DDL runs under a Postgres advisory lock so that nodes
+ * starting or maintaining at the same time take turns.
+ */
+@Slf4j
+@Component(TrackActivityPartitionManager.BEAN_NAME)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TrackActivityPartitionManager {
+
+    public static final String BEAN_NAME = "trackActivityPartitionManager";
+
+    private static final String ACTIVITY_TABLE = "track_activities";
+    private static final String PAYLOAD_TABLE = "track_activity_payloads";
+    private static final String LEGACY_TABLE = "track_activities_legacy";
+    private static final String DEFAULT_SUFFIX = "_default";
+    private static final Pattern PARTITION_SUFFIX = Pattern.compile("_p(\\d{4})_(\\d{2})$");
+    private static final String SCHEMA_LOCK = "track_activities:schema";
+    private static final String MIGRATION_LOCK = "track_activities:migration";
+
+    private static final List<String> SCHEMA = List.of("""
+            CREATE TABLE IF NOT EXISTS track_activities (
+                id            uuid                        NOT NULL,
+                username      varchar(255)                NOT NULL,
+                request_url   varchar(2048),
+                endpoint      varchar(2048),
+                method        varchar(16),
+                status        integer,
+                duration      bigint,
+                ip_address    varchar(255),
+                device_info   varchar(1024),
+                action_date   timestamp(6) with time zone NOT NULL,
+                created_by    varchar(255)                NOT NULL,
+                created_date  timestamp(6) with time zone NOT NULL,
+                modified_by   varchar(255)                NOT NULL,
+                modified_date timestamp(6) with time zone NOT NULL,
+                deleted       boolean                     NOT NULL,
+                CONSTRAINT pk_track_activities PRIMARY KEY (id, action_date)
+            ) PARTITION BY RANGE (action_date)
+            """, """
+            CREATE INDEX IF NOT EXISTS idx_track_activities_action_date ON track_activities (action_date)
+            """, """
+            CREATE INDEX IF NOT EXISTS idx_track_activities_username ON track_activities (username, action_date)
+            """, """
+            CREATE TABLE IF NOT EXISTS track_activities_default PARTITION OF track_activities DEFAULT
+            """, """
+            CREATE TABLE IF NOT EXISTS track_activity_payloads (
+                id               uuid                        NOT NULL,
+                action_date      timestamp(6) with time zone NOT NULL,
+                request_payload  text,
+                response_payload text,
+                CONSTRAINT pk_track_activity_payloads PRIMARY KEY (id, action_date)
+            ) PARTITION BY RANGE (action_date)
+            """, """
+            CREATE TABLE IF NOT EXISTS track_activity_payloads_default PARTITION OF track_activity_payloads DEFAULT
+            """, """
+            CREATE TABLE IF NOT EXISTS track_activity_rollups (
+                id             uuid                        NOT NULL DEFAULT gen_random_uuid() PRIMARY KEY,
+                bucket         timestamp(6) with time zone NOT NULL,
+                method         varchar(16)                 NOT NULL,
+                endpoint       varchar(2048)               NOT NULL,
+                username       varchar(255)                NOT NULL,
+                requests       bigint                      NOT NULL,
+                errors         bigint                      NOT NULL,
+                total_duration bigint                      NOT NULL,
+                max_duration   bigint                      NOT NULL,
+                CONSTRAINT uk_track_activity_rollups UNIQUE (bucket, method, endpoint, username)
+            )
+            """);
+
+    private static final String MONTHS_SQL = """
+            SELECT DISTINCT to_char(action_date AT TIME ZONE 'UTC', 'YYYY-MM') FROM %s
+            """;
+
+    private static final String MIGRATE_ACTIVITIES_SQL = """
+            INSERT INTO track_activities (id, username, request_url, method, status, ip_address, device_info,
+                                          action_date, created_by, created_date, modified_by, modified_date, deleted)
+            SELECT id, coalesce(username, ''), request_url, method, status, ip_address, device_info, action_date,
+                   coalesce(created_by, ''), coalesce(created_date, action_date),
+                   coalesce(modified_by, ''), coalesce(modified_date, action_date), coalesce(deleted, false)
+            FROM track_activities_legacy
+            WHERE action_date >= ? AND action_date < ?
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String MIGRATE_PAYLOADS_SQL = """
+            INSERT INTO track_activity_payloads (id, action_date, request_payload, response_payload)
+            SELECT id, action_date, request_payload, response_payload
+            FROM track_activities_legacy
+            WHERE action_date >= ? AND action_date < ?
+              AND (request_payload IS NOT NULL OR response_payload IS NOT NULL)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String ROLLUP_SQL = """
+            INSERT INTO track_activity_rollups (bucket, method, endpoint, username, requests, errors,
+                                                total_duration, max_duration)
+            SELECT date_trunc('hour', action_date), coalesce(method, ''), coalesce(endpoint, request_url, ''), username,
+                   count(*), count(*) FILTER (WHERE status >= 400), coalesce(sum(duration), 0), coalesce(max(duration), 0)
+            FROM track_activities
+            WHERE action_date >= ? AND action_date < ?
+            GROUP BY 1, 2, 3, 4
+            ON CONFLICT (bucket, method, endpoint, username) DO UPDATE
+                SET requests       = EXCLUDED.requests,
+                    errors         = EXCLUDED.errors,
+                    total_duration = EXCLUDED.total_duration,
+                    max_duration   = EXCLUDED.max_duration
+            """;
+
+    JdbcTemplate jdbcTemplate;
+    SystemProperties.Tracking properties;
+
+    public TrackActivityPartitionManager(JdbcTemplate jdbcTemplate, SystemProperties systemProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = systemProperties.getTracking();
+    }
+
+    /**
+     * Runs before the entity manager factory (see {@code JpaConfiguration}), so Hibernate finds the
+     * partitioned tables instead of creating plain ones. Any failure stops startup: carrying on
+     * would let {@code ddl-auto} create an unpartitioned table that is never retained. Only DDL runs
+     * here; the rows of a legacy table are copied by {@link #migrateLegacyRows()} after startup.
+     */
+    @PostConstruct
+    public void initialize() {
+        try {
+            locked(SCHEMA_LOCK, true, () -> {
+                renameLegacyTable();
+                SCHEMA.forEach(jdbcTemplate::execute);
+                createPartitions();
+            });
+        } catch (Exception e) {
+            throw new BWCGenericRuntimeException("Error preparing track activity partitions", e);
+        }
+    }
+
+    /**
+     * Copies the rows of a legacy table in the background. One node copies at a time; the others
+     * skip, and a copy interrupted by a restart resumes on the next start.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyRows() {
+        try {
+            if (!exists(LEGACY_TABLE)) return;
+            if (!locked(MIGRATION_LOCK, false, this::copyLegacyRows)) {
+                log.info(LogStyleHelper.info("Another node is migrating {}, skipping"), LEGACY_TABLE);
+            }
+        } catch (Exception e) {
+            log.error(LogStyleHelper.error("Error migrating {}, retrying on next start: {}"), LEGACY_TABLE, e.getMessage(), e);
+        }
+    }
+
+    @Async
+    @Scheduled(cron = "${baseware.core.system.tracking.maintenance-cron:0 0 1 * * *}")
+    public void maintainPartitions() {
+        try {
+            locked(SCHEMA_LOCK, true, () -> {
+                createPartitions();
+                dropExpiredPartitions();
+            });
+
+            var cutoff = YearMonth.now(ZoneOffset.UTC).minusMonths(properties.getRollupRetentionMonths());
+            var deleted = jdbcTemplate.update("DELETE FROM track_activity_rollups WHERE bucket < ?", startOf(cutoff));
+            log.debug(LogStyleHelper.debug("Deleted {} track activity rollup(s) before {}"), deleted, cutoff);
+        } catch (Exception e) {
+            log.error(LogStyleHelper.error("Error maintaining track activity partitions: {}"), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recomputes the previous and the current hour. The upsert replaces whole buckets, so rows that
+     * the writer flushed late are picked up by the next run.
+     */
+    @Async
+    @Scheduled(cron = "${baseware.core.system.tracking.rollup-cron:0 */15 * * * *}")
+    public void refreshRollups() {
+        var currentHour = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        var from = currentHour.minus(1, ChronoUnit.HOURS);
+        var to = currentHour.plus(1, ChronoUnit.HOURS);
+        try {
+            var rows = jdbcTemplate.update(ROLLUP_SQL, Timestamp.from(from), Timestamp.from(to));
+            log.debug(LogStyleHelper.debug("Refreshed {} track activity rollup(s) from {} to {}"), rows, from, to);
+        } catch (Exception e) {
+            log.error(LogStyleHelper.error("Error refreshing track activity rollups: {}"), e.getMessage());
+        }
+    }
+
+    /**
+     * A plain {@code track_activities} table left by an earlier schema cannot be turned into a
+     * partitioned one in place; it is renamed so the partitioned table can take its name, and its
+     * rows are copied over by {@link #migrateLegacyRows()}.
+     */
+    private void renameLegacyTable() {
+        var kind = jdbcTemplate.queryForObject(
+                "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass(?)", String.class, ACTIVITY_TABLE);
+        if (!"r".equals(kind)) return;
+
+        jdbcTemplate.execute("ALTER TABLE " + ACTIVITY_TABLE + " RENAME TO " + LEGACY_TABLE);
+        log.info(LogStyleHelper.info("Renamed unpartitioned {} to {} for migration"), ACTIVITY_TABLE, LEGACY_TABLE);
+    }
+
+    /**
+     * Copies the legacy rows month by month into their partitions, payloads into the side table,
+     * and drops the legacy table once all months are copied. Inserts skip rows already present, so
+     * an interrupted copy can simply run again.
+     */
+    private void copyLegacyRows() {
+        // a node holding the lock before this one may have finished the migration already
+        if (!exists(LEGACY_TABLE)) return;
+
+        var months = months(LEGACY_TABLE);
+        var copied = 0L;
+        for (var month : months) {
+            locked(SCHEMA_LOCK, true, () -> {
+                createPartition(ACTIVITY_TABLE, month);
+                createPartition(PAYLOAD_TABLE, month);
+            });
+            var from = startOf(month);
+            var to = startOf(month.plusMonths(1));
+            copied += jdbcTemplate.update(MIGRATE_ACTIVITIES_SQL, from, to);
+            jdbcTemplate.update(MIGRATE_PAYLOADS_SQL, from, to);
+        }
+
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + LEGACY_TABLE);
+        log.info(LogStyleHelper.info("Migrated {} track activities over {} month(s) from {}"),
+                copied, months.size(), LEGACY_TABLE);
+    }
+
+    /**
+     * Creates the partitions ahead of the clock and one for every month with rows in a default
+     * partition, so those rows end up in a partition retention can drop.
+     */
+    private void createPartitions() {
+        var current = YearMonth.now(ZoneOffset.UTC);
+        for (var i = 0; i <= properties.getPartitionsAhead(); i++) {
+            var month = current.plusMonths(i);
+            createPartition(ACTIVITY_TABLE, month);
+            createPartition(PAYLOAD_TABLE, month);
+        }
+
+        for (var table : List.of(ACTIVITY_TABLE, PAYLOAD_TABLE)) {
+            for (var month : months(table + DEFAULT_SUFFIX)) {
+                createPartition(table, month);
+            }
+        }
+    }
+
+    /**
+     * Postgres refuses to create a partition while the default partition holds rows of its range.
+     * In that case the default is detached, the partition created, the rows moved and the default
+     * reattached in one transaction; the detach locks the table, so writers wait for the commit
+     * instead of failing.
+     */
+    private void createPartition(String table, YearMonth month) {
+        var name = partitionName(table, month);
+        if (exists(name)) return;
+
+        var from = startOf(month).toInstant();
+        var to = startOf(month.plusMonths(1)).toInstant();
+        var defaultPartition = table + DEFAULT_SUFFIX;
+        var create = "CREATE TABLE %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')".formatted(name, table, from, to);
+        var range = "action_date >= '%s' AND action_date < '%s'".formatted(from, to);
+
+        var stranded = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM " + defaultPartition + " WHERE " + range, Long.class);
+        if (stranded == null || stranded == 0) {
+            jdbcTemplate.execute(create);
+            return;
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            var autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (var statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE " + table + " DETACH PARTITION " + defaultPartition);
+                statement.execute(create);
+                statement.execute("INSERT INTO " + name + " SELECT * FROM " + defaultPartition + " WHERE " + range);
+                statement.execute("DELETE FROM " + defaultPartition + " WHERE " + range);
+                statement.execute("ALTER TABLE " + table + " ATTACH PARTITION " + defaultPartition + " DEFAULT");
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+        log.warn(LogStyleHelper.warn("Moved {} row(s) of {} out of {} into {}"), stranded, month, defaultPartition, name);
+    }
+
+    private void dropExpiredPartitions() {
+        var cutoff = YearMonth.now(ZoneOffset.UTC).minusMonths(properties.getRetentionMonths());
+        for (var table : List.of(ACTIVITY_TABLE, PAYLOAD_TABLE)) {
+            var partitions = jdbcTemplate.queryForList("""
+                    SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                    WHERE i.inhparent = to_regclass(?)
+                    """, String.class, table);
+
+            for (var partition : partitions) {
+                var matcher = PARTITION_SUFFIX.matcher(partition);
+                if (!matcher.find()) continue;
+
+                var month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                if (month.isBefore(cutoff)) {
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                    log.info(LogStyleHelper.info("Dropped expired partition {}"), partition);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs {@code work} while holding the session-level advisory lock {@code key}. The lock is held
+     * on a connection of its own for the duration, the work uses the pool as usual. Without
+     * {@code wait}, returns false instead of running the work when another session holds the lock.
+     */
+    private boolean locked(String key, boolean wait, Runnable work) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!acquire(connection, key, wait)) return false;
+            try {
+                work.run();
+                return true;
+            } finally {
+                try (var unlock = connection.prepareStatement("SELECT pg_advisory_unlock(hashtext(?))")) {
+                    unlock.setString(1, key);
+                    unlock.execute();
+                }
+            }
+        }));
+    }
+
+    private static boolean acquire(Connection connection, String key, boolean wait) throws SQLException {
+        var sql = wait ? "SELECT pg_advisory_lock(hashtext(?))" : "SELECT pg_try_advisory_lock(hashtext(?))";
+        try (var statement = connection.prepareStatement(sql)) {
+            statement.setString(1, key);
+            try (var result = statement.executeQuery()) {
+                return wait || (result.next() && result.getBoolean(1));
+            }
+        }
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    private List<YearMonth> months(String table) {
+        return jdbcTemplate.queryForList(MONTHS_SQL.formatted(table), String.class).stream()
+                .map(YearMonth::parse)
+                .toList();
+    }
+
+    private static String partitionName(String table, YearMonth month) {
+        return "%s_p%04d_%02d".formatted(table, month.getYear(), month.getMonthValue());
+    }
+
+    private static Timestamp startOf(YearMonth month) {
+        return Timestamp.from(month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,242 @@
+package com.tnh.baseware.core.components;
+
+import com.tnh.baseware.core.audits.UuidV7Generator;
+import com.tnh.baseware.core.entities.audit.TrackActivity;
+import com.tnh.baseware.core.properties.SystemProperties;
+import com.tnh.baseware.core.utils.LogStyleHelper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind sink for {@link TrackActivity} rows. Requests only enqueue into a bounded buffer; a
+ * dedicated writer thread drains it as JDBC batches over its own small connection pool, so activity
+ * tracking never holds a request thread or a connection of the main pool. When the buffer is full
+ * the configured {@link SystemProperties.OverflowPolicy} either drops the activity or makes the
+ * request wait briefly for space. The writer, its pool and its thread only exist while tracking is
+ * active. Queue depth, row outcomes and batch latency are published as {@code track.activity.*}
+ * meters.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "baseware.core.system.tracking-active", havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TrackActivityWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO track_activities (id, username, request_url, endpoint, method, status, duration, ip_address,
+                                          device_info, action_date, created_by, created_date, modified_by,
+                                          modified_date, deleted)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false)
+            """;
+    private static final String INSERT_PAYLOAD_SQL = """
+            INSERT INTO track_activity_payloads (id, action_date, request_payload, response_payload)
+            VALUES (?, ?, ?, ?)
+            """;
+    private static final String DEFAULT_USERNAME = "starcom";
+
+    SystemProperties.Tracking properties;
+    BlockingQueue<TrackActivity> queue;
+    HikariDataSource dataSource;
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate transactionTemplate;
+    Counter enqueued;
+    Counter dropped;
+    Counter written;
+    Counter failed;
+    Timer flushTimer;
+
+    @NonFinal
+    volatile boolean running;
+    @NonFinal
+    Thread writer;
+
+    public TrackActivityWriter(DataSourceProperties dataSourceProperties,
+                               SystemProperties systemProperties,
+                               MeterRegistry meterRegistry) {
+        this.properties = systemProperties.getTracking();
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("track-activity");
+        dataSource.setMaximumPoolSize(properties.getPoolSize());
+        dataSource.setMinimumIdle(0);
+        // lets the PostgreSQL driver rewrite each batch into multi-row INSERT statements
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        Gauge.builder("track.activity.queue.depth", queue, BlockingQueue::size)
+                .description("Activities waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("track.activity.queue.capacity", queue, q -> q.size() + q.remainingCapacity())
+                .description("Size of the activity buffer")
+                .register(meterRegistry);
+        this.enqueued = rows(meterRegistry, "enqueued");
+        this.dropped = rows(meterRegistry, "dropped");
+        this.written = rows(meterRegistry, "written");
+        this.failed = rows(meterRegistry, "failed");
+        this.flushTimer = Timer.builder("track.activity.flush")
+                .description("Time to write one batch of activities and their payloads")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("track-activity-writer")
+                .daemon()
+                .start(this::run);
+    }
+
+    public void write(TrackActivity activity) {
+        if (enqueue(activity)) {
+            enqueued.increment();
+            return;
+        }
+        dropped.increment();
+        log.warn(LogStyleHelper.warn("Activity buffer is full, dropped {} {} by {}"),
+                activity.getMethod(), activity.getRequestUrl(), activity.getUsername());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            // the writer notices within one flush interval; interrupting could abort a batch mid-write
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info(LogStyleHelper.info("Draining {} pending activity row(s) before shutdown"), queue.size());
+        flush();
+        dataSource.close();
+    }
+
+    private boolean enqueue(TrackActivity activity) {
+        if (queue.offer(activity)) return true;
+        if (properties.getOverflowPolicy() != SystemProperties.OverflowPolicy.BLOCK) return false;
+
+        try {
+            return queue.offer(activity, properties.getOfferTimeout(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                var head = queue.poll(properties.getFlushInterval(), TimeUnit.MILLISECONDS);
+                if (head == null) continue;
+
+                var batch = new ArrayList<TrackActivity>(properties.getBatchSize());
+                batch.add(head);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                persist(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error(LogStyleHelper.error("Activity writer failed: {}"), e.getMessage());
+            }
+        }
+    }
+
+    private void flush() {
+        var batch = new ArrayList<TrackActivity>(properties.getBatchSize());
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            persist(batch);
+            batch.clear();
+        }
+    }
+
+    private void persist(List<TrackActivity> batch) {
+        var sample = Timer.start();
+        try {
+            var payloads = new ArrayList<TrackActivity>(batch.size());
+            for (var activity : batch) {
+                if (activity.getId() == null) activity.setId(UuidV7Generator.next());
+                if (activity.getActionDate() == null) activity.setActionDate(Instant.now());
+                if (hasText(activity.getRequestPayload()) || hasText(activity.getResponsePayload())) payloads.add(activity);
+            }
+
+            // activity rows and their payloads commit together
+            transactionTemplate.executeWithoutResult(status -> insert(batch, payloads));
+            written.increment(batch.size());
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.error(LogStyleHelper.error("Error writing {} activity row(s): {}"), batch.size(), e.getMessage());
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    private void insert(List<TrackActivity> batch, List<TrackActivity> payloads) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, activity) -> {
+            var username = activity.getUsername() != null ? activity.getUsername() : DEFAULT_USERNAME;
+            var actionDate = Timestamp.from(activity.getActionDate());
+            ps.setObject(1, activity.getId());
+            ps.setString(2, username);
+            ps.setString(3, activity.getRequestUrl());
+            ps.setString(4, activity.getEndpoint());
+            ps.setString(5, activity.getMethod());
+            ps.setObject(6, activity.getStatus());
+            ps.setObject(7, activity.getDuration());
+            ps.setString(8, activity.getIpAddress());
+            ps.setString(9, activity.getDeviceInfo());
+            ps.setTimestamp(10, actionDate);
+            ps.setString(11, username);
+            ps.setTimestamp(12, actionDate);
+            ps.setString(13, username);
+            ps.setTimestamp(14, actionDate);
+        });
+        if (payloads.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(INSERT_PAYLOAD_SQL, payloads, payloads.size(), (ps, activity) -> {
+            ps.setObject(1, activity.getId());
+            ps.setTimestamp(2, Timestamp.from(activity.getActionDate()));
+            ps.setString(3, activity.getRequestPayload());
+            ps.setString(4, activity.getResponsePayload());
+        });
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+
+    private static Counter rows(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("track.activity.rows")
+                .description("Activities by what happened to them")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
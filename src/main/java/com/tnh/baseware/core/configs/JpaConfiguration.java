@@ -1,9 +1,14 @@
 package com.tnh.baseware.core.configs;
 
 import com.tnh.baseware.core.audits.ApplicationAuditAware;
+import com.tnh.baseware.core.components.TrackActivityPartitionManager;
+import com.tnh.baseware.core.properties.SystemProperties;
 import com.tnh.baseware.core.utils.LogStyleHelper;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.AuditorAware;
@@ -21,6 +26,27 @@ public class JpaConfiguration {
         return auditAware;
     }
 
+    /**
+     * The partitioned track activity tables must exist before Hibernate runs its schema update.
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor trackActivitySchemaDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(TrackActivityPartitionManager.BEAN_NAME);
+    }
+
+    /**
+     * Batches inserts and updates, ordered by entity so rows of one table share a batch; bulk
+     * endpoints flush once per batch.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(SystemProperties systemProperties) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, systemProperties.getBulk().getBatchSize());
+            properties.put(AvailableSettings.ORDER_INSERTS, true);
+            properties.put(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+
     @Bean
     public ApplicationAuditAware applicationAuditAware() {
         var auditAware = new ApplicationAuditAware();
@@ -0,0 +1,32 @@
+package com.tnh.baseware.core.configs;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * HQL functions for the search operators. Each renders exactly the expression the indexes created
+ * by {@code SearchIndexManager} are built on, so Postgres can match the predicate to the index.
+ * Registered through {@code META-INF/services}.
+ */
+public class SearchFunctionContributor implements FunctionContributor {
+
+    public static final String UNACCENT_LOWER = "unaccent_lower";
+    public static final String FULL_TEXT_MATCH = "full_text_match";
+    public static final String FUZZY_MATCH = "fuzzy_match";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        var types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        var registry = functionContributions.getFunctionRegistry();
+
+        registry.registerPattern(UNACCENT_LOWER, "f_unaccent(lower(?1))",
+                types.resolve(StandardBasicTypes.STRING));
+        registry.registerPattern(FULL_TEXT_MATCH,
+                "(to_tsvector('simple', f_unaccent(coalesce(?1, ''))) @@ plainto_tsquery('simple', f_unaccent(?2)))",
+                types.resolve(StandardBasicTypes.BOOLEAN));
+        // word similarity: the term is close to some part of the column, e.g. "ha nol" against "Hà Nội"
+        registry.registerPattern(FUZZY_MATCH, "(f_unaccent(lower(?1)) %> f_unaccent(lower(?2)))",
+                types.resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
@@ -0,0 +1,19 @@
+package com.tnh.baseware.core.configs;
+
+import com.tnh.baseware.core.components.ResponseBytesCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfiguration implements WebMvcConfigurer {
+
+    private final ResponseBytesCache responseBytesCache;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(responseBytesCache);
+    }
+}
@@ -0,0 +1,16 @@
+package com.tnh.baseware.core.dtos.audit;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BulkFailureDTO {
+    int index;
+    Object id;
+    String message;
+}
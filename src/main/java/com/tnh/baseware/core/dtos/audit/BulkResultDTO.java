@@ -0,0 +1,19 @@
+package com.tnh.baseware.core.dtos.audit;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BulkResultDTO<I> {
+    int requested;
+    int succeeded;
+    List<I> ids;
+    List<BulkFailureDTO> failures;
+}
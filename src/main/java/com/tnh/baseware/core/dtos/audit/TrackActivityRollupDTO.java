@@ -0,0 +1,34 @@
+package com.tnh.baseware.core.dtos.audit;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TrackActivityRollupDTO {
+
+    Instant bucket;
+    String method;
+    String endpoint;
+    String username;
+    long requests;
+    long errors;
+    long averageDuration;
+    long maxDuration;
+
+    public TrackActivityRollupDTO(Instant bucket, String method, String endpoint, String username,
+                                  long requests, long errors, long totalDuration, long maxDuration) {
+        this.bucket = bucket;
+        this.method = method;
+        this.endpoint = endpoint;
+        this.username = username;
+        this.requests = requests;
+        this.errors = errors;
+        this.averageDuration = requests > 0 ? totalDuration / requests : 0;
+        this.maxDuration = maxDuration;
+    }
+}
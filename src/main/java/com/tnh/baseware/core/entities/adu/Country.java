@@ -1,9 +1,12 @@
 package com.tnh.baseware.core.entities.adu;
 
+import com.tnh.baseware.core.annotations.UuidV7;
 import com.tnh.baseware.core.entities.audit.Auditable;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -13,6 +16,8 @@ import java.util.UUID;
 @Setter
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
@@ -22,7 +27,7 @@ public class Country extends Auditable<String> implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     UUID id;
 
     @Column(unique = true, nullable = false)
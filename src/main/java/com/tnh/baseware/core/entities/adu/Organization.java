@@ -1,6 +1,8 @@
 package com.tnh.baseware.core.entities.adu;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.tnh.baseware.core.annotations.Searchable;
+import com.tnh.baseware.core.annotations.UuidV7;
 import com.tnh.baseware.core.entities.audit.Auditable;
 import com.tnh.baseware.core.entities.user.UserOrganization;
 import com.tnh.baseware.core.enums.OrganizationLevel;
@@ -27,9 +29,10 @@ public class Organization extends Auditable<String> implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     UUID id;
 
+    @Searchable
     @Column(nullable = false, unique = true)
     String name;
 
@@ -1,5 +1,6 @@
 package com.tnh.baseware.core.entities.adu;
 
+import com.tnh.baseware.core.annotations.UuidV7;
 import com.tnh.baseware.core.entities.audit.Auditable;
 import jakarta.persistence.*;
 import lombok.*;
@@ -22,7 +23,7 @@ public class Product extends Auditable<String> implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     UUID id;
 
     String name;
@@ -0,0 +1,31 @@
+package com.tnh.baseware.core.entities.audit;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CursorPagedModel<T> extends RepresentationModel<CursorPagedModel<T>> {
+
+    List<T> content;
+    Integer size;
+    String nextCursor;
+    Boolean hasNext;
+
+    @Override
+    public boolean equals(Object obj) {
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+}
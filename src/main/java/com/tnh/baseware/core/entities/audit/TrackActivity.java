@@ -1,16 +1,19 @@
 package com.tnh.baseware.core.entities.audit;
 
+import com.tnh.baseware.core.annotations.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
 
 import java.io.Serial;
 import java.io.Serializable;
 import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * One tracked request. The table is range-partitioned by month on {@code actionDate}; see
+ * {@code TrackActivityPartitionManager}.
+ */
 @Getter
 @Setter
 @Builder
@@ -24,7 +27,7 @@ public class TrackActivity extends Auditable<String> implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     UUID id;
 
     @Column(nullable = false)
@@ -32,19 +35,20 @@ public class TrackActivity extends Auditable<String> implements Serializable {
     String username = "starcom";
 
     String requestUrl;
+    String endpoint;
     String method;
     Integer status;
+    Long duration;
     String ipAddress;
     String deviceInfo;
 
-    @Lob
-    @Basic(fetch = FetchType.LAZY)
-    @JdbcTypeCode(SqlTypes.LONGVARCHAR)
+    /**
+     * Payloads are stored in {@link TrackActivityPayload} and only read for the detail view.
+     */
+    @Transient
     String requestPayload;
 
-    @Lob
-    @Basic(fetch = FetchType.LAZY)
-    @JdbcTypeCode(SqlTypes.LONGVARCHAR)
+    @Transient
     String responsePayload;
 
     @Column(nullable = false, updatable = false)
@@ -0,0 +1,42 @@
+package com.tnh.baseware.core.entities.audit;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Request and response bodies of a {@link TrackActivity}, kept apart so listing and searching
+ * activities never touches them. Shares the activity id and the monthly partitioning.
+ */
+@Getter
+@Setter
+@Entity
+@Immutable
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TrackActivityPayload implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    UUID id;
+
+    @Column(nullable = false)
+    Instant actionDate;
+
+    @JdbcTypeCode(SqlTypes.LONGVARCHAR)
+    String requestPayload;
+
+    @JdbcTypeCode(SqlTypes.LONGVARCHAR)
+    String responsePayload;
+}
@@ -0,0 +1,50 @@
+package com.tnh.baseware.core.entities.audit;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Hourly aggregate of {@link TrackActivity} rows per endpoint, method and user, maintained by
+ * {@code TrackActivityPartitionManager}.
+ */
+@Getter
+@Setter
+@Entity
+@Immutable
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TrackActivityRollup implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    UUID id;
+
+    @Column(nullable = false)
+    Instant bucket;
+
+    @Column(nullable = false)
+    String method;
+
+    @Column(nullable = false)
+    String endpoint;
+
+    @Column(nullable = false)
+    String username;
+
+    long requests;
+    long errors;
+    long totalDuration;
+    long maxDuration;
+}
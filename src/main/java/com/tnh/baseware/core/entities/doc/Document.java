@@ -1,5 +1,6 @@
 package com.tnh.baseware.core.entities.doc;
 
+import com.tnh.baseware.core.annotations.UuidV7;
 import com.tnh.baseware.core.entities.audit.Auditable;
 import com.tnh.baseware.core.enums.doc.DocumentType;
 import jakarta.persistence.*;
@@ -22,7 +23,7 @@ import java.util.UUID;
 public class Document extends Auditable<String> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     UUID id;
 
     @Column(nullable = false)
@@ -1,5 +1,6 @@
 package com.tnh.baseware.core.entities.doc;
 
+import com.tnh.baseware.core.annotations.UuidV7;
 import com.tnh.baseware.core.entities.audit.Auditable;
 import jakarta.persistence.*;
 import lombok.*;
@@ -16,7 +17,7 @@ import java.util.UUID;
 public class DocumentFile extends Auditable<String> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
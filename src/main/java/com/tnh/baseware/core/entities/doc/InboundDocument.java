@@ -1,5 +1,6 @@
 package com.tnh.baseware.core.entities.doc;
 
+import com.tnh.baseware.core.annotations.UuidV7;
 import com.tnh.baseware.core.enums.integration.InboundStatus;
 import jakarta.persistence.*;
 import lombok.*;
@@ -22,7 +23,7 @@ import java.util.UUID;
 public class InboundDocument {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     UUID id;
 
     @Column(nullable = false)
@@ -1,5 +1,6 @@
 package com.tnh.baseware.core.entities.project;
 
+import com.tnh.baseware.core.annotations.UuidV7;
 import com.tnh.baseware.core.entities.audit.Auditable;
 import com.tnh.baseware.core.entities.adu.Organization;
 import com.tnh.baseware.core.enums.project.ProjectStatus;
@@ -22,7 +23,7 @@ import java.util.UUID;
 public class Project extends Auditable<String> {
 
         @Id
-        @GeneratedValue(strategy = GenerationType.UUID)
+        @UuidV7
         private UUID id;
 
         @Column(nullable = false, length = 50)
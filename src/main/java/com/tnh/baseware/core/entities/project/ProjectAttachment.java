@@ -1,5 +1,6 @@
 package com.tnh.baseware.core.entities.project;
 
+import com.tnh.baseware.core.annotations.UuidV7;
 import com.tnh.baseware.core.entities.audit.Auditable;
 import com.tnh.baseware.core.entities.doc.FileDocument;
 import com.tnh.baseware.core.entities.user.User;
@@ -22,7 +23,7 @@ import java.util.UUID;
 )
 public class ProjectAttachment extends Auditable<String> {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,5 +1,6 @@
 package com.tnh.baseware.core.entities.project;
 
+import com.tnh.baseware.core.annotations.UuidV7;
 import com.tnh.baseware.core.entities.audit.Auditable;
 import com.tnh.baseware.core.entities.user.User;
 import com.tnh.baseware.core.enums.project.ProjectMemberRole;
@@ -23,7 +24,7 @@ import java.util.UUID;
 public class ProjectMember extends Auditable<String> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -1,5 +1,7 @@
 package com.tnh.baseware.core.entities.task;
 
+import com.tnh.baseware.core.annotations.Searchable;
+import com.tnh.baseware.core.annotations.UuidV7;
 import com.tnh.baseware.core.entities.audit.Auditable;
 import com.tnh.baseware.core.entities.project.Project;
 import com.tnh.baseware.core.enums.task.TaskPriority;
@@ -27,9 +29,10 @@ import java.util.UUID;
 public class Task extends Auditable<String> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     UUID id;
 
+    @Searchable
     @Column(nullable = false)
     String title;
 
@@ -1,5 +1,6 @@
 package com.tnh.baseware.core.entities.task;
 
+import com.tnh.baseware.core.annotations.UuidV7;
 import com.tnh.baseware.core.entities.audit.Auditable;
 import com.tnh.baseware.core.entities.user.User;
 import com.tnh.baseware.core.enums.task.LogActionType;
@@ -18,7 +19,7 @@ import java.util.UUID;
 public class TaskActivityLog extends Auditable<String> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,5 +1,6 @@
 package com.tnh.baseware.core.entities.task;
 
+import com.tnh.baseware.core.annotations.UuidV7;
 import com.tnh.baseware.core.entities.audit.Auditable;
 import com.tnh.baseware.core.entities.user.User;
 import jakarta.persistence.*;
@@ -17,7 +18,7 @@ import java.util.UUID;
 public class TaskComment extends Auditable<String> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,5 +1,6 @@
 package com.tnh.baseware.core.entities.task;
 
+import com.tnh.baseware.core.annotations.UuidV7;
 import com.tnh.baseware.core.entities.audit.Auditable;
 import com.tnh.baseware.core.enums.task.TaskDependencyType;
 import jakarta.persistence.*;
@@ -21,7 +22,7 @@ import java.util.UUID;
 public class TaskDependency extends Auditable<String> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
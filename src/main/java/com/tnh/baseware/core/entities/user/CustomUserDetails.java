@@ -3,6 +3,7 @@ package com.tnh.baseware.core.entities.user;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.io.Serial;
@@ -10,7 +11,13 @@ import java.time.Instant;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
+/**
+ * Spring Security principal. Login flows carry the full {@link User}; authenticated requests carry
+ * only the cached {@link UserPrincipal} snapshot, in which case {@link #getUser()} is {@code null}.
+ */
 @Getter
 @Setter
 @Builder
@@ -22,11 +29,48 @@ public class CustomUserDetails implements UserDetails {
     @Serial
     private static final long serialVersionUID = 1L;
     User user;
+    UserPrincipal principal;
+
+    public static CustomUserDetails of(UserPrincipal principal) {
+        return CustomUserDetails.builder()
+                .principal(principal)
+                .build();
+    }
+
+    public UUID getId() {
+        if (user != null) return user.getId();
+        return Optional.ofNullable(principal)
+                .map(UserPrincipal::id)
+                .orElse(null);
+    }
+
+    public boolean isSuperAdmin() {
+        if (user != null) return Boolean.TRUE.equals(user.getSuperAdmin());
+        return principal != null && principal.superAdmin();
+    }
+
+    public boolean isSystem() {
+        if (user != null) {
+            return user.getOrganizations() != null && user.getOrganizations().stream()
+                    .anyMatch(org -> Boolean.TRUE.equals(org.getOrganization().getIsSystem()));
+        }
+        return principal != null && principal.system();
+    }
+
+    public String getRoleSet() {
+        if (user != null) return UserPrincipal.roleSetOf(user.getRoles());
+        return Optional.ofNullable(principal)
+                .map(UserPrincipal::roleSet)
+                .orElse(null);
+    }
 
     @Override
     public Set<? extends GrantedAuthority> getAuthorities() {
-        return Optional.ofNullable(user)
-                .map(User::getAuthorities)
+        if (user != null) return user.getAuthorities();
+        return Optional.ofNullable(principal)
+                .map(p -> p.authorities().stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .collect(Collectors.toUnmodifiableSet()))
                 .orElse(Collections.emptySet());
     }
 
@@ -39,23 +83,24 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public String getUsername() {
-        return Optional.ofNullable(user)
-                .map(User::getUsername)
+        if (user != null) return user.getUsername();
+        return Optional.ofNullable(principal)
+                .map(UserPrincipal::username)
                 .orElse(null);
     }
 
     @Override
     public boolean isAccountNonExpired() {
-        return Optional.ofNullable(user)
-                .map(u -> Instant.now().isBefore(u.getAccountExpiryDate()))
+        if (user != null) return Instant.now().isBefore(user.getAccountExpiryDate());
+        return Optional.ofNullable(principal)
+                .map(p -> p.accountExpiryDate() == null || Instant.now().isBefore(p.accountExpiryDate()))
                 .orElse(false);
     }
 
     @Override
     public boolean isAccountNonLocked() {
-        return Optional.ofNullable(user)
-                .map(u -> !u.getLocked())
-                .orElse(false);
+        if (user != null) return !user.getLocked();
+        return principal != null && !principal.locked();
     }
 
     @Override
@@ -65,8 +110,7 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return Optional.ofNullable(user)
-                .map(User::getEnabled)
-                .orElse(false);
+        if (user != null) return user.getEnabled();
+        return principal != null && principal.enabled();
     }
 }
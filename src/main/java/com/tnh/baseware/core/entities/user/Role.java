@@ -1,10 +1,13 @@
 package com.tnh.baseware.core.entities.user;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.tnh.baseware.core.annotations.UuidV7;
 import com.tnh.baseware.core.entities.audit.Auditable;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
@@ -28,7 +31,7 @@ public class Role extends Auditable<String> implements Serializable {
         private static final long serialVersionUID = 1L;
 
         @Id
-        @GeneratedValue(strategy = GenerationType.UUID)
+        @UuidV7
         UUID id;
 
         @Column(unique = true, nullable = false)
@@ -51,6 +54,7 @@ public class Role extends Auditable<String> implements Serializable {
 
         @JsonIgnore
         @ManyToMany(fetch = FetchType.LAZY)
+        @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
         @JoinTable(name = "roles_privileges", joinColumns = @JoinColumn(name = "role_id", referencedColumnName = "id"), inverseJoinColumns = @JoinColumn(name = "privilege_id", referencedColumnName = "id"))
         @Builder.Default
         Set<Privilege> privileges = new HashSet<>();
@@ -1,6 +1,8 @@
 package com.tnh.baseware.core.entities.user;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.tnh.baseware.core.annotations.Searchable;
+import com.tnh.baseware.core.annotations.UuidV7;
 import com.tnh.baseware.core.dtos.audit.CategoryDTO;
 import com.tnh.baseware.core.entities.adu.Organization;
 import com.tnh.baseware.core.entities.audit.Auditable;
@@ -33,7 +35,7 @@ public class User extends Auditable<String> implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     UUID id;
 
     @Column(unique = true, nullable = false)
@@ -50,6 +52,7 @@ public class User extends Auditable<String> implements Serializable {
     @Builder.Default
     String lastName = "";
 
+    @Searchable
     String fullName;
 
     @Column(unique = true, nullable = false)
@@ -0,0 +1,66 @@
+package com.tnh.baseware.core.entities.user;
+
+import com.tnh.baseware.core.utils.BasewareUtils;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of the fields the security filters need from a {@link User}. It is cached per
+ * username so authenticating a request does not load the entity graph; {@code roleSet} addresses the
+ * shared privilege set of the user's roles and {@code version} is the role-set version the snapshot
+ * was built against.
+ */
+public record UserPrincipal(UUID id,
+                            String username,
+                            boolean enabled,
+                            boolean locked,
+                            boolean superAdmin,
+                            boolean system,
+                            Instant accountExpiryDate,
+                            Set<String> authorities,
+                            String roleSet,
+                            long version) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public UserPrincipal {
+        authorities = authorities == null ? Set.of() : Set.copyOf(authorities);
+    }
+
+    public static UserPrincipal of(User user, long version) {
+        var system = user.getOrganizations() != null && user.getOrganizations().stream()
+                .anyMatch(org -> Boolean.TRUE.equals(org.getOrganization().getIsSystem()));
+
+        return new UserPrincipal(user.getId(),
+                user.getUsername(),
+                Boolean.TRUE.equals(user.getEnabled()),
+                Boolean.TRUE.equals(user.getLocked()),
+                Boolean.TRUE.equals(user.getSuperAdmin()),
+                system,
+                user.getAccountExpiryDate(),
+                user.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toUnmodifiableSet()),
+                roleSetOf(user.getRoles()),
+                version);
+    }
+
+    /**
+     * Content address of a role combination: users holding the same roles share one privilege set.
+     */
+    public static String roleSetOf(Collection<Role> roles) {
+        var ids = roles == null ? "" : roles.stream()
+                .map(role -> String.valueOf(role.getId()))
+                .sorted()
+                .collect(Collectors.joining(","));
+        return BasewareUtils.sha256Hex(ids);
+    }
+}
@@ -0,0 +1,29 @@
+package com.tnh.baseware.core.events.listener;
+
+import com.tnh.baseware.core.events.type.PrincipalChangedEvent;
+import com.tnh.baseware.core.services.user.imp.PrincipalCacheService;
+import com.tnh.baseware.core.services.user.imp.PrivilegeCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@RequiredArgsConstructor
+@Component
+public class PrincipalEventListener {
+
+    private final PrincipalCacheService principalCacheService;
+    private final PrivilegeCacheService privilegeCacheService;
+
+    // after commit, so a concurrent request cannot re-cache the pre-change state
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handle(PrincipalChangedEvent event) {
+        if (event.affectsAll()) {
+            // bumping the role-set version also makes every cached privilege entry stale
+            principalCacheService.evictAll();
+        } else {
+            principalCacheService.evict(event.username());
+            privilegeCacheService.clearUserCache(String.valueOf(event.userId()));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.tnh.baseware.core.events.type;
+
+import java.util.UUID;
+
+/**
+ * Published when a user's cached principal and privileges may be stale; a {@code null} user means
+ * the change affects role or privilege assignments of any number of users.
+ */
+public record PrincipalChangedEvent(UUID userId, String username) {
+
+    public static PrincipalChangedEvent all() {
+        return new PrincipalChangedEvent(null, null);
+    }
+
+    public boolean affectsAll() {
+        return userId == null;
+    }
+}
@@ -14,6 +14,9 @@ public class SecurityProperties {
 
     Jwt jwt;
     PrivilegeInfo privilege;
+    TokenCache tokenCache = new TokenCache();
+    TokenJournal tokenJournal = new TokenJournal();
+    PrincipalCache principalCache = new PrincipalCache();
     Register register;
     Login login;
     String passwordDefault = "123456";
@@ -35,6 +38,48 @@ public class SecurityProperties {
     public static class PrivilegeInfo {
         long ttl = 3600000; // 1 hour
         String prefix = "privileges:";
+        long matcherCacheSize = 1000; // distinct privilege sets kept compiled
+        long localMaxSize = 10000;
+        long localTtl = 300000; // 5 minutes
+        String channel = "privileges:evicted";
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class TokenCache {
+        long localMaxSize = 10000;
+        long localTtl = 300000; // 5 minutes
+        long redisTtl = 3600000; // 1 hour, capped by the token expiration
+        String prefix = "tokens:";
+        String channel = "tokens:revoked";
+        String epochPrefix = "token-epochs:";
+        String epochChannel = "tokens:epochs";
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class TokenJournal {
+        int capacity = 10000;
+        int batchSize = 500;
+        long flushInterval = 200; // milliseconds
+        long retryBackoff = 1000; // first delay after a failed flush, doubled per failure
+        long maxRetryBackoff = 60000; // 1 minute
+        long replayInterval = 60000; // 1 minute
+        long replayAge = 30000; // journal entries older than this are treated as orphaned
+        String prefix = "token-journal:";
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class PrincipalCache {
+        long localMaxSize = 10000;
+        long localTtl = 300000; // 5 minutes
+        long redisTtl = 3600000; // 1 hour
+        String prefix = "principals:";
+        String channel = "principals:evicted";
     }
 
     @Getter
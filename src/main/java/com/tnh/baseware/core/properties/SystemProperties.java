@@ -6,6 +6,9 @@ import lombok.Setter;
 import lombok.experimental.FieldDefaults;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Getter
 @Setter
 @ConfigurationProperties(prefix = "baseware.core.system")
@@ -20,4 +23,96 @@ public class SystemProperties {
     boolean initializedEnabled = false;
     long cachePatternClearIntervalMs = 7200000; // 2 hours
     String tokenClearInterval = "0 0 0 * * *"; // Every day at 00:00:00
+    Tracking tracking = new Tracking();
+    Search search = new Search();
+    Bulk bulk = new Bulk();
+    ResultCache resultCache = new ResultCache();
+    SecondLevelCache secondLevelCache = new SecondLevelCache();
+    EntityVersion entityVersion = new EntityVersion();
+    ConditionalGet conditionalGet = new ConditionalGet();
+    ResponseCache responseCache = new ResponseCache();
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Tracking {
+        int capacity = 20000;
+        int batchSize = 500;
+        long flushInterval = 250; // milliseconds
+        int poolSize = 2;
+        OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+        long offerTimeout = 20; // milliseconds, only used by BLOCK
+        int maxPayloadSize = 4096; // bytes captured per request and response body
+        List<String> skippedContentTypes = new ArrayList<>(List.of(
+                "multipart/", "application/octet-stream", "application/pdf", "application/zip",
+                "application/x-ndjson", "text/event-stream", "image/", "audio/", "video/"));
+        int partitionsAhead = 2; // monthly partitions created ahead of the current month
+        int retentionMonths = 6; // raw activity partitions older than this are dropped
+        int rollupRetentionMonths = 24;
+        String maintenanceCron = "0 0 1 * * *"; // Every day at 01:00:00
+        String rollupCron = "0 */15 * * * *"; // Every 15 minutes
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Search {
+        long countCacheMaxSize = 10000;
+        long countCacheTtl = 60000; // 1 minute
+        long queryCacheMaxSize = 500; // compiled search shapes, least recently used evicted first
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Bulk {
+        int batchSize = 100; // rows per JDBC batch and per bulk transaction
+        int maxItems = 5000; // items accepted by one bulk request
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class ResultCache {
+        boolean enabled = true;
+        long ttl = 600000; // 10 minutes, upper bound for writes that bypass the version counter
+        String prefix = "results:";
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class SecondLevelCache {
+        String channel = "l2cache:evicted";
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class EntityVersion {
+        String prefix = "versions:";
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class ConditionalGet {
+        boolean enabled = true;
+        long maxAge = 300000; // 5 minutes, upper bound for collection ETags over writes that bypass the version counter
+    }
+
+    @Getter
+    @Setter
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class ResponseCache {
+        boolean enabled = true;
+        long maxBytes = 67108864; // 64 MB of response bytes per node, least recently used evicted first
+        long ttl = 300000; // 5 minutes, keep within conditional-get.max-age so cached ETags stay current
+        int gzipMinSize = 1024; // bytes, smaller responses are not worth compressing
+    }
 }
@@ -94,7 +94,8 @@ public interface IGenericRepository<T, I> extends JpaRepository<T, I>, JpaSpecif
 
     @Transactional
     default void softDeleteByIdIn(List<I> ids) {
-        findByIdIn(ids).forEach(entity -> {
+        var entities = findByIdIn(ids);
+        entities.forEach(entity -> {
             try {
                 entity.getClass().getMethod("setDeleted", Boolean.class).invoke(entity, Boolean.TRUE);
             } catch (Exception e) {
@@ -102,7 +103,7 @@ public interface IGenericRepository<T, I> extends JpaRepository<T, I>, JpaSpecif
             }
         });
         // Use saveAll instead of individual saves for better performance
-        saveAll(findByIdIn(ids));
+        saveAll(entities);
     }
 
     @Transactional
@@ -0,0 +1,229 @@
+package com.tnh.baseware.core.repositories;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.tnh.baseware.core.utils.BasewareUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Sparse-fieldset reads. Requested fields are dotted attribute paths that must exist both on the
+ * entity, as singular basic attributes reached through to-one associations, and on the DTO as
+ * properties the ObjectMapper serializes, so a projection never exposes more than the full
+ * representation: {@code @JsonIgnore}, write-only and ignored properties are rejected. Only those columns are selected,
+ * to-one associations on the way are left-joined, and rows come back as nested maps keyed in
+ * snake_case like the DTO JSON.
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ProjectionRepository {
+
+    private static final String ID = "id";
+
+    @NonFinal
+    @PersistenceContext
+    EntityManager entityManager;
+
+    ObjectMapper objectMapper;
+
+    Cache<String, List<String>> resolved = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .build();
+
+    Map<Class<?>, Map<String, BeanPropertyDefinition>> serialized = new ConcurrentHashMap<>();
+
+    /**
+     * Validates the requested fields and returns them as attribute paths, always including the id.
+     *
+     * @throws IllegalArgumentException when a field is unknown, not exposed by the DTO, or not a
+     *                                  single-valued column
+     */
+    public List<String> resolve(Class<?> entityClass, Class<?> dtoClass, Collection<String> fields) {
+        var key = entityClass.getName() + ":" + dtoClass.getName() + ":" + String.join(",", fields);
+        try {
+            return resolved.get(key, () -> compile(entityClass, dtoClass, fields));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw e.getCause() instanceof IllegalArgumentException cause ? cause : new IllegalArgumentException(e.getCause());
+        }
+    }
+
+    public <E> List<Map<String, Object>> findAll(Class<E> entityClass,
+                                                 List<String> paths,
+                                                 Specification<E> specification,
+                                                 Pageable pageable,
+                                                 int extra) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var root = query.from(entityClass);
+
+        var predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+        if (pageable.getSort().isSorted()) query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        query.multiselect(selections(root, paths));
+
+        var typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize() + extra);
+        }
+        return typed.getResultList().stream()
+                .map(tuple -> toMap(tuple, paths))
+                .toList();
+    }
+
+    public <E> long count(Class<E> entityClass, Specification<E> specification) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Long.class);
+        var root = query.from(entityClass);
+
+        var predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        query.orderBy(List.of());
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private List<String> compile(Class<?> entityClass, Class<?> dtoClass, Collection<String> fields) {
+        var requested = fields.stream()
+                .filter(field -> field != null && !field.isBlank())
+                .map(String::trim)
+                .toList();
+        requested.forEach(path -> checkSerialized(dtoClass, path));
+
+        var managedType = entityManager.getMetamodel().managedType(entityClass);
+        var paths = new LinkedHashSet<String>();
+        paths.add(ID);
+        for (var path : requested) {
+            validate(managedType, path);
+            paths.add(path);
+        }
+        return List.copyOf(paths);
+    }
+
+    private void checkSerialized(Class<?> dtoClass, String path) {
+        Class<?> dtoType = dtoClass;
+        for (var segment : path.split("\\.")) {
+            var property = dtoType == null ? null : serializedProperties(dtoType).get(segment);
+            if (property == null) throw new IllegalArgumentException("Field is not exposed: " + path);
+            dtoType = property.getPrimaryType().getRawClass();
+        }
+    }
+
+    /**
+     * The properties Jackson writes for a DTO type, keyed by Java name. Introspecting with the
+     * serialization config drops {@code @JsonIgnore}d properties and the accessors of write-only
+     * ones; class-level ignorals and ignored property types are applied on top.
+     */
+    private Map<String, BeanPropertyDefinition> serializedProperties(Class<?> dtoType) {
+        return serialized.computeIfAbsent(dtoType, type -> {
+            var config = objectMapper.getSerializationConfig();
+            var description = config.introspect(config.constructType(type));
+            var ignored = config.getDefaultPropertyIgnorals(type, description.getClassInfo())
+                    .findIgnoredForSerialization();
+            var introspector = config.getAnnotationIntrospector();
+
+            var properties = new HashMap<String, BeanPropertyDefinition>();
+            for (var property : description.findProperties()) {
+                if (!property.couldSerialize()
+                        || ignored.contains(property.getName())
+                        || ignored.contains(property.getInternalName())) continue;
+
+                var propertyType = config.introspectClassAnnotations(property.getPrimaryType()).getClassInfo();
+                if (Boolean.TRUE.equals(introspector.isIgnorableType(propertyType))) continue;
+                properties.put(property.getInternalName(), property);
+            }
+            return Map.copyOf(properties);
+        });
+    }
+
+    private static void validate(ManagedType<?> type, String path) {
+        var segments = path.split("\\.");
+        var managedType = type;
+
+        for (var i = 0; i < segments.length; i++) {
+            var segment = segments[i];
+            Attribute<?, ?> attribute;
+            try {
+                attribute = managedType.getAttribute(segment);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown field: " + path);
+            }
+            if (!(attribute instanceof SingularAttribute<?, ?> singular)) {
+                throw new IllegalArgumentException("Collection fields cannot be projected: " + path);
+            }
+
+            var last = i == segments.length - 1;
+            var basic = singular.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC;
+            if (last != basic) throw new IllegalArgumentException("Field must end at a column: " + path);
+            if (!last) managedType = (ManagedType<?>) singular.getType();
+        }
+    }
+
+    private static List<Selection<?>> selections(Root<?> root, List<String> paths) {
+        var joins = new HashMap<String, From<?, ?>>();
+        var selections = new ArrayList<Selection<?>>(paths.size());
+        for (var path : paths) {
+            selections.add(path(root, joins, path));
+        }
+        return selections;
+    }
+
+    private static Path<?> path(Root<?> root, Map<String, From<?, ?>> joins, String path) {
+        From<?, ?> from = root;
+        var segments = path.split("\\.");
+        var prefix = new StringBuilder();
+        for (var i = 0; i < segments.length - 1; i++) {
+            prefix.append(prefix.isEmpty() ? "" : ".").append(segments[i]);
+            var parent = from;
+            var segment = segments[i];
+            from = joins.computeIfAbsent(prefix.toString(), key -> parent.join(segment, JoinType.LEFT));
+        }
+        return from.get(segments[segments.length - 1]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toMap(Tuple tuple, List<String> paths) {
+        var row = new LinkedHashMap<String, Object>();
+        for (var index = 0; index < paths.size(); index++) {
+            var segments = paths.get(index).split("\\.");
+            Map<String, Object> target = row;
+            for (var i = 0; i < segments.length - 1; i++) {
+                target = (Map<String, Object>) target.computeIfAbsent(BasewareUtils.toSnakeCase(segments[i]),
+                        key -> new LinkedHashMap<String, Object>());
+            }
+            target.put(BasewareUtils.toSnakeCase(segments[segments.length - 1]), tuple.get(index));
+        }
+        return row;
+    }
+}
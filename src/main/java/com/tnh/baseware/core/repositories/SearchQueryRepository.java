@@ -0,0 +1,76 @@
+package com.tnh.baseware.core.repositories;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.tnh.baseware.core.properties.SystemProperties;
+import com.tnh.baseware.core.specs.CompiledSearch;
+import com.tnh.baseware.core.specs.SearchRequest;
+import com.tnh.baseware.core.specs.SearchShape;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Runs generic searches from a bounded cache of {@link CompiledSearch} queries keyed by
+ * {@link SearchShape}, instead of rebuilding a Criteria tree and re-translating it per request.
+ */
+@Repository
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SearchQueryRepository {
+
+    @NonFinal
+    @PersistenceContext
+    EntityManager entityManager;
+
+    Cache<SearchShape, CompiledSearch> compiled;
+
+    public SearchQueryRepository(SystemProperties systemProperties) {
+        this.compiled = CacheBuilder.newBuilder()
+                .maximumSize(systemProperties.getSearch().getQueryCacheMaxSize())
+                .build();
+    }
+
+    /**
+     * @throws IllegalArgumentException when the request references unknown keys or is incomplete
+     */
+    public CompiledSearch compile(Class<?> entityClass, SearchRequest request) {
+        var shape = SearchShape.of(entityClass, request);
+        try {
+            return compiled.get(shape, () -> CompiledSearch.compile(entityManager.getMetamodel().entity(entityClass), shape));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw e.getCause() instanceof IllegalArgumentException cause ? cause : new IllegalArgumentException(e.getCause());
+        }
+    }
+
+    public <E> List<E> findAll(Class<E> entityClass,
+                               CompiledSearch search,
+                               SearchRequest request,
+                               Pageable pageable,
+                               int extra,
+                               EntityGraph<E> fetchGraph) {
+        var query = entityManager.createQuery(search.getSelectHql(), entityClass);
+        search.bind(query, request);
+        if (fetchGraph != null) query.setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, fetchGraph);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize() + extra);
+        }
+        return query.getResultList();
+    }
+
+    public long count(CompiledSearch search, SearchRequest request) {
+        var query = entityManager.createQuery(search.getCountHql(), Long.class);
+        search.bind(query, request);
+        return query.getSingleResult();
+    }
+}
@@ -1,12 +1,15 @@
 package com.tnh.baseware.core.repositories.audit;
 
 import com.tnh.baseware.core.dtos.audit.TrackActivityDetailDTO;
+import com.tnh.baseware.core.dtos.audit.TrackActivityRollupDTO;
 import com.tnh.baseware.core.entities.audit.TrackActivity;
 import com.tnh.baseware.core.repositories.IGenericRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,9 +17,26 @@ import java.util.UUID;
 public interface ITrackActivityRepository extends IGenericRepository<TrackActivity, UUID> {
 
     @Transactional(readOnly = true)
-    @Query("SELECT new com.tnh.baseware.core.dtos.audit.TrackActivityDetailDTO(t.requestPayload, t.responsePayload) " +
+    @Query("SELECT new com.tnh.baseware.core.dtos.audit.TrackActivityDetailDTO(p.requestPayload, p.responsePayload) " +
             "FROM TrackActivity t " +
+            "LEFT JOIN TrackActivityPayload p ON p.id = t.id AND p.actionDate = t.actionDate " +
             "WHERE t.id = :id")
     Optional<TrackActivityDetailDTO> getTrackActivityDetail(UUID id);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.tnh.baseware.core.dtos.audit.TrackActivityRollupDTO(r.bucket, r.method, r.endpoint, r.username, " +
+            "r.requests, r.errors, r.totalDuration, r.maxDuration) " +
+            "FROM TrackActivityRollup r " +
+            "WHERE r.bucket >= :from AND r.bucket < :to " +
+            "ORDER BY r.bucket, r.endpoint")
+    List<TrackActivityRollupDTO> getRollups(Instant from, Instant to);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.tnh.baseware.core.dtos.audit.TrackActivityRollupDTO(r.bucket, r.method, r.endpoint, r.username, " +
+            "r.requests, r.errors, r.totalDuration, r.maxDuration) " +
+            "FROM TrackActivityRollup r " +
+            "WHERE r.bucket >= :from AND r.bucket < :to AND r.username = :username " +
+            "ORDER BY r.bucket, r.endpoint")
+    List<TrackActivityRollupDTO> getRollupsByUsername(Instant from, Instant to, String username);
 }
 
@@ -2,8 +2,11 @@ package com.tnh.baseware.core.repositories.user;
 
 import com.tnh.baseware.core.entities.user.Menu;
 import com.tnh.baseware.core.repositories.IGenericRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +18,9 @@ public interface IMenuRepository extends IGenericRepository<Menu, UUID> {
     @EntityGraph(attributePaths = {"parent"})
     @Query("SELECT m FROM Menu m")
     List<Menu> findAllWithParent();
+
+    // super admins get every menu on each token lookup; the id list is served from the query cache
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Menu> findAll();
 }
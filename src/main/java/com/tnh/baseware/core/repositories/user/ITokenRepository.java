@@ -25,6 +25,36 @@ public interface ITokenRepository extends IGenericRepository<Token, UUID> {
 
     List<Token> findAllBySessionId(UUID sessionId);
 
+    // the revoking updates return only the jtis, for the token cache: mapping whole rows to Token
+    // would hand out entities the persistence context never saw change
+    @Query(nativeQuery = true, value = """
+            UPDATE tokens SET revoked = true, expired = true, modified_date = :now
+            WHERE session_id = :sessionId AND revoked = false
+            RETURNING jti
+            """)
+    List<String> revokeAllBySessionId(@Param("sessionId") UUID sessionId, @Param("now") Instant now);
+
+    @Query(nativeQuery = true, value = """
+            UPDATE tokens SET revoked = true, expired = true, modified_date = :now
+            WHERE session_id = :sessionId AND token_type = :tokenType AND revoked = false
+            RETURNING jti
+            """)
+    List<String> revokeAllBySessionIdAndTokenType(@Param("sessionId") UUID sessionId, @Param("tokenType") String tokenType, @Param("now") Instant now);
+
+    @Query(nativeQuery = true, value = """
+            UPDATE tokens SET revoked = true, expired = true, modified_date = :now
+            WHERE user_id = :userId AND revoked = false
+            RETURNING jti
+            """)
+    List<String> revokeAllByUser(@Param("userId") UUID userId, @Param("now") Instant now);
+
+    @Query(nativeQuery = true, value = """
+            UPDATE tokens SET revoked = true, expired = true, modified_date = :now
+            WHERE user_id = :userId AND token_type = :tokenType AND revoked = false
+            RETURNING jti
+            """)
+    List<String> revokeAllByUserAndTokenType(@Param("userId") UUID userId, @Param("tokenType") String tokenType, @Param("now") Instant now);
+
     @Transactional
     @Modifying
     @Query("DELETE FROM Token t WHERE t.expired = true OR t.revoked = true OR t.expiration < :now")
@@ -5,6 +5,7 @@ import com.tnh.baseware.core.repositories.IGenericRepository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -17,6 +18,10 @@ public interface IUserRepository extends IGenericRepository<User, UUID> {
 
     Optional<User> findByUsername(String username);
 
+    // loads everything a UserPrincipal needs in one query
+    @EntityGraph(attributePaths = {"roles", "roles.privileges", "organizations", "organizations.organization"})
+    Optional<User> findWithAuthoritiesByUsername(String username);
+
     boolean existsByUsernameOrPhoneOrEmailOrIdn(String username, String phone, String email, String idn);
 
     boolean existsByPhone(String phone);
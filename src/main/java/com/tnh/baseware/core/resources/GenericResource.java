@@ -1,10 +1,16 @@
 package com.tnh.baseware.core.resources;
 
+import com.tnh.baseware.core.annotations.CachedResponse;
+import com.tnh.baseware.core.components.ConditionalGetEvaluator;
+import com.tnh.baseware.core.dtos.audit.BulkResultDTO;
 import com.tnh.baseware.core.dtos.audit.EnumDTO;
 import com.tnh.baseware.core.dtos.user.ApiMessageDTO;
+import com.tnh.baseware.core.entities.audit.CursorPagedModel;
 import com.tnh.baseware.core.entities.audit.Identifiable;
+import com.tnh.baseware.core.forms.audit.BulkUpdateForm;
 import com.tnh.baseware.core.services.IGenericService;
 import com.tnh.baseware.core.services.MessageService;
+import com.tnh.baseware.core.specs.CursorPage;
 import com.tnh.baseware.core.specs.SearchRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +21,8 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
@@ -34,6 +42,7 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @RequiredArgsConstructor
@@ -45,6 +54,11 @@ public abstract class GenericResource<E, F, D extends RepresentationModel<D> & I
         MessageService messageService;
         String basePath;
 
+        @NonFinal
+        @Getter(AccessLevel.NONE)
+        @Autowired
+        ConditionalGetEvaluator conditionalGet;
+
         @Operation(summary = "Create a new entity")
         @ApiResponse(responseCode = "200", description = "Entity created", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
         @Override
@@ -116,46 +130,84 @@ public abstract class GenericResource<E, F, D extends RepresentationModel<D> & I
                                 .build());
         }
 
-        @Operation(summary = "Soft delete multiple entities by IDs")
+        @Operation(summary = "Soft delete multiple entities by IDs in one statement")
         @ApiResponse(responseCode = "200", description = "Entities soft deleted", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
         @Override
         @DeleteMapping("/soft-delete")
         public ResponseEntity<ApiMessageDTO<Integer>> softDeleteAllByIds(@RequestBody List<I> ids) {
-                service.softDeleteAllByIds(ids);
+                var deleted = service.softDeleteAll(ids);
                 return ResponseEntity.ok(ApiMessageDTO.<Integer>builder()
-                                .data(ids.size())
+                                .data(deleted)
                                 .result(true)
                                 .message(messageService.getMessage("entities.soft.deleted"))
                                 .code(HttpStatus.OK.value())
                                 .build());
         }
 
+        @Operation(summary = "Create multiple entities")
+        @ApiResponse(responseCode = "200", description = "Entities created, with per-item failures", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
+        @Override
+        @PostMapping("/bulk")
+        public ResponseEntity<ApiMessageDTO<BulkResultDTO<I>>> createAll(@RequestBody List<F> forms) {
+                return toBulkResponse(service.createAll(forms), "entities.created", HttpStatus.CREATED);
+        }
+
+        @Operation(summary = "Update multiple entities")
+        @ApiResponse(responseCode = "200", description = "Entities updated, with per-item failures", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
+        @Override
+        @PutMapping("/bulk")
+        public ResponseEntity<ApiMessageDTO<BulkResultDTO<I>>> updateAll(@RequestBody List<BulkUpdateForm<I, F>> forms) {
+                return toBulkResponse(service.updateAll(forms), "entities.updated", HttpStatus.OK);
+        }
+
+        @Operation(summary = "Restore multiple soft-deleted entities in one statement")
+        @ApiResponse(responseCode = "200", description = "Entities restored", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
+        @Override
+        @PutMapping("/bulk/restore")
+        public ResponseEntity<ApiMessageDTO<Integer>> restoreAll(@RequestBody List<I> ids) {
+                var restored = service.restoreAll(ids);
+                return ResponseEntity.ok(ApiMessageDTO.<Integer>builder()
+                                .data(restored)
+                                .result(true)
+                                .message(messageService.getMessage("entities.restored"))
+                                .code(HttpStatus.OK.value())
+                                .build());
+        }
+
         @Operation(summary = "Find an entity by ID")
         @ApiResponse(responseCode = "200", description = "Entity found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
         @Override
+        @CachedResponse
         @GetMapping("/{id}")
         public ResponseEntity<ApiMessageDTO<D>> findById(@PathVariable I id) {
-                var d = service.findById(id);
-                return ResponseEntity.ok(ApiMessageDTO.<D>builder()
-                                .data(d)
-                                .result(true)
-                                .message(messageService.getMessage("entity.retrieved"))
-                                .code(HttpStatus.OK.value())
-                                .build());
+                var modifiedDate = service.findModifiedDate(id).orElse(null);
+                return conditionalGet.evaluate(conditionalGet.entityTag(id, modifiedDate, service.currentVersion()), modifiedDate, () -> {
+                        var d = service.findById(id);
+                        return ResponseEntity.ok(ApiMessageDTO.<D>builder()
+                                        .data(d)
+                                        .result(true)
+                                        .message(messageService.getMessage("entity.retrieved"))
+                                        .code(HttpStatus.OK.value())
+                                        .build());
+                });
         }
 
         @Operation(summary = "Safely find an entity by ID")
         @ApiResponse(responseCode = "200", description = "Entity found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
         @Override
+        @CachedResponse
         @GetMapping("/safe/{id}")
         public ResponseEntity<ApiMessageDTO<D>> safeFindById(@PathVariable I id) {
-                var d = service.safeFindById(id);
-                return ResponseEntity.ok(ApiMessageDTO.<D>builder()
-                                .data(toModel(d))
-                                .result(true)
-                                .message(messageService.getMessage("entity.retrieved"))
-                                .code(HttpStatus.OK.value())
-                                .build());
+                var modifiedDate = service.findModifiedDate(id).orElse(null);
+                return conditionalGet.evaluate(conditionalGet.entityTag(id, modifiedDate, service.currentVersion()), modifiedDate, () -> {
+                        var d = service.safeFindById(id);
+                        return ResponseEntity.ok(ApiMessageDTO.<D>builder()
+                                        .data(toModel(d))
+                                        .result(true)
+                                        .message(messageService.getMessage("entity.retrieved"))
+                                        .code(HttpStatus.OK.value())
+                                        .build());
+                });
         }
 
         @Operation(summary = "Get reference by ID")
@@ -175,61 +227,113 @@ public abstract class GenericResource<E, F, D extends RepresentationModel<D> & I
         @Operation(summary = "Find all entities")
         @ApiResponse(responseCode = "200", description = "All entities found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
         @Override
+        @CachedResponse
         @GetMapping
         public ResponseEntity<ApiMessageDTO<List<D>>> findAll() {
-                var ds = service.findAll();
-                return ResponseEntity.ok(ApiMessageDTO.<List<D>>builder()
-                                .data(ds)
-                                .result(true)
-                                .message(messageService.getMessage("entities.retrieved"))
-                                .code(HttpStatus.OK.value())
-                                .build());
+                return conditionalGet.evaluate(conditionalGet.collectionTag(service.currentVersion()), null, () -> {
+                        var ds = service.findAll();
+                        return ResponseEntity.ok(ApiMessageDTO.<List<D>>builder()
+                                        .data(ds)
+                                        .result(true)
+                                        .message(messageService.getMessage("entities.retrieved"))
+                                        .code(HttpStatus.OK.value())
+                                        .build());
+                });
         }
 
         @Operation(summary = "Find all entities with pagination")
         @ApiResponse(responseCode = "200", description = "All entities found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
         @Override
+        @CachedResponse
         @GetMapping("/pagination")
-        public ResponseEntity<ApiMessageDTO<PagedModel<D>>> findAllWithPagination(Pageable pageable,
+        public ResponseEntity<ApiMessageDTO<PagedModel<?>>> findAllWithPagination(Pageable pageable,
+                        @RequestParam(required = false) List<String> fields,
                         PagedResourcesAssembler<D> assembler) {
-                var ds = service.findAll(pageable);
-                var pagedModel = assembler.toModel(ds, this::toModel);
-                return ResponseEntity.ok(ApiMessageDTO.<PagedModel<D>>builder()
-                                .data(pagedModel)
-                                .result(true)
-                                .message(messageService.getMessage("entities.retrieved"))
-                                .code(HttpStatus.OK.value())
-                                .build());
+                return conditionalGet.evaluate(conditionalGet.collectionTag(service.currentVersion()), null, () -> {
+                        var pagedModel = isProjection(fields)
+                                        ? toProjectedModel(service.findAll(pageable, fields))
+                                        : assembler.toModel(service.findAll(pageable), this::toModel);
+                        return ResponseEntity.ok(ApiMessageDTO.<PagedModel<?>>builder()
+                                        .data(pagedModel)
+                                        .result(true)
+                                        .message(messageService.getMessage("entities.retrieved"))
+                                        .code(HttpStatus.OK.value())
+                                        .build());
+                });
+        }
+
+        @Operation(summary = "Find all entities with cursor pagination")
+        @ApiResponse(responseCode = "200", description = "All entities found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
+        @Override
+        @GetMapping("/cursor")
+        public ResponseEntity<ApiMessageDTO<CursorPagedModel<D>>> findAllWithCursor(
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(required = false) Integer size) {
+                return conditionalGet.evaluate(conditionalGet.collectionTag(service.currentVersion()), null, () -> {
+                        var ds = service.findAll(cursor, size);
+                        return ResponseEntity.ok(ApiMessageDTO.<CursorPagedModel<D>>builder()
+                                        .data(toCursorPagedModel(ds, true))
+                                        .result(true)
+                                        .message(messageService.getMessage("entities.retrieved"))
+                                        .code(HttpStatus.OK.value())
+                                        .build());
+                });
         }
 
         @Operation(summary = "Find all active entities")
         @ApiResponse(responseCode = "200", description = "All entities found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
         @Override
+        @CachedResponse
         @GetMapping("/active")
         public ResponseEntity<ApiMessageDTO<List<D>>> findAllActive() {
-                var ds = service.findAllActive();
-                return ResponseEntity.ok(ApiMessageDTO.<List<D>>builder()
-                                .data(ds)
-                                .result(true)
-                                .message(messageService.getMessage("entities.retrieved"))
-                                .code(HttpStatus.OK.value())
-                                .build());
+                return conditionalGet.evaluate(conditionalGet.collectionTag(service.currentVersion()), null, () -> {
+                        var ds = service.findAllActive();
+                        return ResponseEntity.ok(ApiMessageDTO.<List<D>>builder()
+                                        .data(ds)
+                                        .result(true)
+                                        .message(messageService.getMessage("entities.retrieved"))
+                                        .code(HttpStatus.OK.value())
+                                        .build());
+                });
         }
 
         @Operation(summary = "Find all active entities with pagination")
         @ApiResponse(responseCode = "200", description = "All entities found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
         @Override
+        @CachedResponse
         @GetMapping("/active/pagination")
-        public ResponseEntity<ApiMessageDTO<PagedModel<D>>> findAllActiveWithPagination(Pageable pageable,
+        public ResponseEntity<ApiMessageDTO<PagedModel<?>>> findAllActiveWithPagination(Pageable pageable,
+                        @RequestParam(required = false) List<String> fields,
                         PagedResourcesAssembler<D> assembler) {
-                var ds = service.findAllActive(pageable);
-                var pagedModel = assembler.toModel(ds, this::toModel);
-                return ResponseEntity.ok(ApiMessageDTO.<PagedModel<D>>builder()
-                                .data(pagedModel)
-                                .result(true)
-                                .message(messageService.getMessage("entities.retrieved"))
-                                .code(HttpStatus.OK.value())
-                                .build());
+                return conditionalGet.evaluate(conditionalGet.collectionTag(service.currentVersion()), null, () -> {
+                        var pagedModel = isProjection(fields)
+                                        ? toProjectedModel(service.findAllActive(pageable, fields))
+                                        : assembler.toModel(service.findAllActive(pageable), this::toModel);
+                        return ResponseEntity.ok(ApiMessageDTO.<PagedModel<?>>builder()
+                                        .data(pagedModel)
+                                        .result(true)
+                                        .message(messageService.getMessage("entities.retrieved"))
+                                        .code(HttpStatus.OK.value())
+                                        .build());
+                });
+        }
+
+        @Operation(summary = "Find all active entities with cursor pagination")
+        @ApiResponse(responseCode = "200", description = "All entities found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
+        @Override
+        @GetMapping("/active/cursor")
+        public ResponseEntity<ApiMessageDTO<CursorPagedModel<D>>> findAllActiveWithCursor(
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(required = false) Integer size) {
+                return conditionalGet.evaluate(conditionalGet.collectionTag(service.currentVersion()), null, () -> {
+                        var ds = service.findAllActive(cursor, size);
+                        return ResponseEntity.ok(ApiMessageDTO.<CursorPagedModel<D>>builder()
+                                        .data(toCursorPagedModel(ds, true))
+                                        .result(true)
+                                        .message(messageService.getMessage("entities.retrieved"))
+                                        .code(HttpStatus.OK.value())
+                                        .build());
+                });
         }
 
         @Operation(summary = "Find all entities by list of IDs")
@@ -333,12 +437,13 @@ public abstract class GenericResource<E, F, D extends RepresentationModel<D> & I
         @ApiResponse(responseCode = "200", description = "Entities found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
         @Override
         @PostMapping("/search")
-        public ResponseEntity<ApiMessageDTO<PagedModel<D>>> search(
+        public ResponseEntity<ApiMessageDTO<PagedModel<?>>> search(
                         @RequestBody(required = false) SearchRequest searchRequest,
                         PagedResourcesAssembler<D> assembler) {
-                var ds = service.search(searchRequest);
-                var pagedModel = assembler.toModel(ds, this::toModel);
-                return ResponseEntity.ok(ApiMessageDTO.<PagedModel<D>>builder()
+                var pagedModel = searchRequest != null && isProjection(searchRequest.getFields())
+                                ? toProjectedModel(service.searchProjected(searchRequest))
+                                : assembler.toModel(service.search(searchRequest), this::toModel);
+                return ResponseEntity.ok(ApiMessageDTO.<PagedModel<?>>builder()
                                 .data(pagedModel)
                                 .result(true)
                                 .message(messageService.getMessage("entities.retrieved"))
@@ -346,9 +451,25 @@ public abstract class GenericResource<E, F, D extends RepresentationModel<D> & I
                                 .build());
         }
 
+        @Operation(summary = "Search entities using filter criteria with cursor pagination")
+        @ApiResponse(responseCode = "200", description = "Entities found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
+        @Override
+        @PostMapping("/search/cursor")
+        public ResponseEntity<ApiMessageDTO<CursorPagedModel<D>>> searchByCursor(
+                        @RequestBody(required = false) SearchRequest searchRequest) {
+                var ds = service.searchByCursor(searchRequest);
+                return ResponseEntity.ok(ApiMessageDTO.<CursorPagedModel<D>>builder()
+                                .data(toCursorPagedModel(ds, false))
+                                .result(true)
+                                .message(messageService.getMessage("entities.retrieved"))
+                                .code(HttpStatus.OK.value())
+                                .build());
+        }
+
         @Operation(summary = "Get enum values by enum name")
         @ApiResponse(responseCode = "200", description = "Enums found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
         @Override
+        @CachedResponse(versioned = false)
         @GetMapping("/enums")
         public ResponseEntity<ApiMessageDTO<List<? extends EnumDTO<?>>>> getEnumValues(
                         @RequestParam("name") String name) {
@@ -390,4 +511,53 @@ public abstract class GenericResource<E, F, D extends RepresentationModel<D> & I
                                                 page.getTotalElements(),
                                                 page.getTotalPages()));
         }
+
+        private ResponseEntity<ApiMessageDTO<BulkResultDTO<I>>> toBulkResponse(BulkResultDTO<I> result,
+                        String messageKey, HttpStatus status) {
+                var complete = result.getFailures().isEmpty();
+                return ResponseEntity.ok(ApiMessageDTO.<BulkResultDTO<I>>builder()
+                                .data(result)
+                                .result(complete)
+                                .message(messageService.getMessage(complete ? messageKey : "bulk.partial"))
+                                .code(status.value())
+                                .build());
+        }
+
+        /**
+         * Sparse-fieldset pages carry plain rows, so they get page metadata but no per-item links.
+         */
+        public PagedModel<Map<String, Object>> toProjectedModel(Page<Map<String, Object>> page) {
+                return PagedModel.of(
+                                page.getContent(),
+                                new PagedModel.PageMetadata(
+                                                page.getSize(),
+                                                page.getNumber(),
+                                                page.getTotalElements(),
+                                                page.getTotalPages()));
+        }
+
+        private static boolean isProjection(List<String> fields) {
+                return fields != null && !fields.isEmpty();
+        }
+
+        /**
+         * Renders a keyset page. GET endpoints also get a {@code next} link carrying the cursor; POST
+         * searches send it back in the request body instead.
+         */
+        public CursorPagedModel<D> toCursorPagedModel(CursorPage<D> page, boolean linkNext) {
+                var model = CursorPagedModel.<D>builder()
+                                .content(page.content().stream().map(this::toModel).toList())
+                                .size(page.size())
+                                .nextCursor(page.nextCursor())
+                                .hasNext(page.hasNext())
+                                .build();
+
+                if (linkNext && page.hasNext()) {
+                        var nextHref = ServletUriComponentsBuilder.fromCurrentRequest()
+                                        .replaceQueryParam("cursor", page.nextCursor())
+                                        .toUriString();
+                        model.add(Link.of(nextHref).withRel("next"));
+                }
+                return model;
+        }
 }
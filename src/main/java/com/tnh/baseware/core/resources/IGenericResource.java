@@ -1,7 +1,10 @@
 package com.tnh.baseware.core.resources;
 
+import com.tnh.baseware.core.dtos.audit.BulkResultDTO;
 import com.tnh.baseware.core.dtos.audit.EnumDTO;
 import com.tnh.baseware.core.dtos.user.ApiMessageDTO;
+import com.tnh.baseware.core.entities.audit.CursorPagedModel;
+import com.tnh.baseware.core.forms.audit.BulkUpdateForm;
 import com.tnh.baseware.core.specs.SearchRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
@@ -24,6 +27,12 @@ public interface IGenericResource<E, F, D, I> {
 
     ResponseEntity<ApiMessageDTO<Integer>> softDeleteAllByIds(List<I> ids);
 
+    ResponseEntity<ApiMessageDTO<BulkResultDTO<I>>> createAll(List<F> forms);
+
+    ResponseEntity<ApiMessageDTO<BulkResultDTO<I>>> updateAll(List<BulkUpdateForm<I, F>> forms);
+
+    ResponseEntity<ApiMessageDTO<Integer>> restoreAll(List<I> ids);
+
     ResponseEntity<ApiMessageDTO<D>> findById(I id);
 
     ResponseEntity<ApiMessageDTO<D>> safeFindById(I id);
@@ -32,11 +41,15 @@ public interface IGenericResource<E, F, D, I> {
 
     ResponseEntity<ApiMessageDTO<List<D>>> findAll();
 
-    ResponseEntity<ApiMessageDTO<PagedModel<D>>> findAllWithPagination(Pageable pageable, PagedResourcesAssembler<D> assembler);
+    ResponseEntity<ApiMessageDTO<PagedModel<?>>> findAllWithPagination(Pageable pageable, List<String> fields, PagedResourcesAssembler<D> assembler);
+
+    ResponseEntity<ApiMessageDTO<CursorPagedModel<D>>> findAllWithCursor(String cursor, Integer size);
 
     ResponseEntity<ApiMessageDTO<List<D>>> findAllActive();
 
-    ResponseEntity<ApiMessageDTO<PagedModel<D>>> findAllActiveWithPagination(Pageable pageable, PagedResourcesAssembler<D> assembler);
+    ResponseEntity<ApiMessageDTO<PagedModel<?>>> findAllActiveWithPagination(Pageable pageable, List<String> fields, PagedResourcesAssembler<D> assembler);
+
+    ResponseEntity<ApiMessageDTO<CursorPagedModel<D>>> findAllActiveWithCursor(String cursor, Integer size);
 
     ResponseEntity<ApiMessageDTO<List<D>>> findAllByIds(List<I> ids);
 
@@ -50,7 +63,9 @@ public interface IGenericResource<E, F, D, I> {
 
     ResponseEntity<ApiMessageDTO<Boolean>> existsByField(String fieldName, String value);
 
-    ResponseEntity<ApiMessageDTO<PagedModel<D>>> search(SearchRequest searchRequest, PagedResourcesAssembler<D> assembler);
+    ResponseEntity<ApiMessageDTO<PagedModel<?>>> search(SearchRequest searchRequest, PagedResourcesAssembler<D> assembler);
+
+    ResponseEntity<ApiMessageDTO<CursorPagedModel<D>>> searchByCursor(SearchRequest searchRequest);
 
     ResponseEntity<ApiMessageDTO<List<? extends EnumDTO<?>>>> getEnumValues(String enumName);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.tnh.baseware.core.resources.audit;
 
 import com.tnh.baseware.core.dtos.audit.TrackActivityDTO;
 import com.tnh.baseware.core.dtos.audit.TrackActivityDetailDTO;
+import com.tnh.baseware.core.dtos.audit.TrackActivityRollupDTO;
 import com.tnh.baseware.core.dtos.user.ApiMessageDTO;
 import com.tnh.baseware.core.entities.audit.TrackActivity;
 import com.tnh.baseware.core.forms.audit.TrackActivityEditorForm;
@@ -23,8 +24,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Tag(name = "Track Activities", description = "API for managing track activities")
@@ -57,4 +61,19 @@ public class TrackActivityResource extends
                 .code(HttpStatus.OK.value())
                 .build());
     }
+
+    @Operation(summary = "Get hourly track activity rollups")
+    @ApiResponse(responseCode = "200", description = "Track activity rollups retrieved", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
+    @GetMapping("/rollups")
+    public ResponseEntity<ApiMessageDTO<List<TrackActivityRollupDTO>>> getRollups(@RequestParam Instant from,
+                                                                                   @RequestParam Instant to,
+                                                                                   @RequestParam(required = false) String username) {
+        var rollups = trackActivityService.getRollups(from, to, username);
+        return ResponseEntity.ok(ApiMessageDTO.<List<TrackActivityRollupDTO>>builder()
+                .data(rollups)
+                .result(true)
+                .message(messageService.getMessage("track.activity.rollup.found"))
+                .code(HttpStatus.OK.value())
+                .build());
+    }
 }
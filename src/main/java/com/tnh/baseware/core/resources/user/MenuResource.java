@@ -1,8 +1,10 @@
 package com.tnh.baseware.core.resources.user;
 
+import com.tnh.baseware.core.annotations.CachedResponse;
 import com.tnh.baseware.core.dtos.user.ApiMessageDTO;
 import com.tnh.baseware.core.dtos.user.MenuDTO;
 import com.tnh.baseware.core.entities.user.Menu;
+import com.tnh.baseware.core.entities.user.Role;
 import com.tnh.baseware.core.forms.user.MenuEditorForm;
 import com.tnh.baseware.core.properties.SystemProperties;
 import com.tnh.baseware.core.resources.GenericResource;
@@ -113,6 +115,7 @@ public class MenuResource extends GenericResource<Menu, MenuEditorForm, MenuDTO,
 
         @Operation(summary = "Find all menus without roles")
         @ApiResponse(responseCode = "200", description = "Menus retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
+        @CachedResponse(dependsOn = Role.class)
         @GetMapping("/without-roles")
         public ResponseEntity<ApiMessageDTO<List<MenuDTO>>> findAllWithoutRoles() {
                 var menus = menuService.findAllWithoutRoles();
@@ -126,6 +129,7 @@ public class MenuResource extends GenericResource<Menu, MenuEditorForm, MenuDTO,
 
         @Operation(summary = "Find all menus without a specific role")
         @ApiResponse(responseCode = "200", description = "Menus retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
+        @CachedResponse(dependsOn = Role.class)
         @GetMapping("/without-role/{roleId}")
         public ResponseEntity<ApiMessageDTO<List<MenuDTO>>> findAllWithoutRole(@PathVariable UUID roleId) {
                 var menus = menuService.findAllWithoutRole(roleId);
@@ -139,6 +143,7 @@ public class MenuResource extends GenericResource<Menu, MenuEditorForm, MenuDTO,
 
         @Operation(summary = "Find all menus by role ID")
         @ApiResponse(responseCode = "200", description = "Menus retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
+        @CachedResponse(dependsOn = Role.class)
         @GetMapping("/by-role/{roleId}")
         public ResponseEntity<ApiMessageDTO<List<MenuDTO>>> findAllByRole(@PathVariable UUID roleId) {
                 var menus = menuService.findAllByRole(roleId);
@@ -152,6 +157,7 @@ public class MenuResource extends GenericResource<Menu, MenuEditorForm, MenuDTO,
 
         @Operation(summary = "Find all menus by role ID with pagination")
         @ApiResponse(responseCode = "200", description = "Menus retrieved successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiMessageDTO.class)))
+        @CachedResponse(dependsOn = Role.class)
         @GetMapping("/by-role/{roleId}/pagination")
         public ResponseEntity<ApiMessageDTO<PagedModel<MenuDTO>>> findAllByRoleWithPagination(@PathVariable UUID roleId,
                         Pageable pageable,
@@ -2,10 +2,9 @@ package com.tnh.baseware.core.securities;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tnh.baseware.core.components.BasewareCoreFilter;
-import com.tnh.baseware.core.entities.user.CustomUserDetails;
-import com.tnh.baseware.core.properties.SecurityProperties;
-import com.tnh.baseware.core.properties.SecurityUriProperties;
+import com.tnh.baseware.core.components.BypassUriMatcher;
 import com.tnh.baseware.core.services.MessageService;
+import com.tnh.baseware.core.services.user.imp.CustomUserDetailsService;
 import com.tnh.baseware.core.services.user.imp.PrivilegeCacheService;
 import com.tnh.baseware.core.utils.LogStyleHelper;
 import jakarta.servlet.FilterChain;
@@ -18,9 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.annotation.Order;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 
@@ -32,21 +29,18 @@ import java.io.IOException;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class JwtAuthenticationFilter extends BasewareCoreFilter {
 
-    UserDetailsService userDetailsService;
+    CustomUserDetailsService userDetailsService;
     JwtTokenService jwtTokenService;
-    SecurityProperties securityProperties;
 
-    public JwtAuthenticationFilter(SecurityUriProperties securityUriProperties,
+    public JwtAuthenticationFilter(BypassUriMatcher bypassUriMatcher,
                                    MessageService messageService,
                                    ObjectMapper objectMapper,
                                    PrivilegeCacheService privilegeCacheService,
-                                   UserDetailsService userDetailsService,
-                                   JwtTokenService jwtTokenService,
-                                   SecurityProperties securityProperties) {
-        super(securityUriProperties, messageService, objectMapper, privilegeCacheService);
+                                   CustomUserDetailsService userDetailsService,
+                                   JwtTokenService jwtTokenService) {
+        super(bypassUriMatcher, messageService, objectMapper, privilegeCacheService);
         this.userDetailsService = userDetailsService;
         this.jwtTokenService = jwtTokenService;
-        this.securityProperties = securityProperties;
     }
 
     @Override
@@ -56,7 +50,7 @@ public class JwtAuthenticationFilter extends BasewareCoreFilter {
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
         var requestURI = request.getRequestURI();
-        if (isBypassUri(requestURI)) {
+        if (isBypassUri(request)) {
             log.debug(LogStyleHelper.debug("Bypassing JWT filter for URI: {}"), requestURI);
             filterChain.doFilter(request, response);
             return;
@@ -79,32 +73,24 @@ public class JwtAuthenticationFilter extends BasewareCoreFilter {
         log.debug(LogStyleHelper.debug("JWT Token received: {}"), accessToken);
 
         try {
-            var username = jwtTokenService.extractUsername(accessToken);
-            var sessionId = jwtTokenService.extractSessionId(accessToken);
+            var verifiedToken = jwtTokenService.verifyToken(request, accessToken)
+                    .filter(VerifiedToken::isUsable)
+                    .orElse(null);
 
-            if (username.isEmpty() || sessionId.isEmpty()) {
+            if (verifiedToken == null) {
                 log.debug(LogStyleHelper.debug("JWT token is invalid or expired"));
                 sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "error.unauthorized");
                 return;
             }
 
-            var userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(username.get());
-            if (!jwtTokenService.isTokenValid(accessToken, userDetails)) {
+            // served from the principal cache, so a warm request does no database work here
+            var userDetails = userDetailsService.loadPrincipalByUsername(verifiedToken.username());
+            if (!jwtTokenService.isTokenValid(verifiedToken, userDetails)) {
                 log.debug(LogStyleHelper.debug("JWT token is invalid or expired"));
                 sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "error.unauthorized");
                 return;
             }
 
-            var privileges = userDetails.getAuthorities()
-                    .stream()
-                    .map(GrantedAuthority::getAuthority).toList();
-
-            if (securityProperties.getJwt().isAllowMultipleDevices()) {
-                privilegeCacheService.cachePrivileges(String.valueOf(userDetails.getUser().getId()), sessionId.get(), privileges);
-            } else {
-                privilegeCacheService.cachePrivileges(String.valueOf(userDetails.getUser().getId()), privileges);
-            }
-
             var authToken = new UsernamePasswordAuthenticationToken(
                     userDetails, null, userDetails.getAuthorities());
             authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
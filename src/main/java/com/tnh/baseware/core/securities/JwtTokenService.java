@@ -3,8 +3,6 @@ package com.tnh.baseware.core.securities;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
-import com.nimbusds.jose.crypto.MACSigner;
-import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import com.tnh.baseware.core.components.JwtSecretProvider;
@@ -16,13 +14,13 @@ import com.tnh.baseware.core.properties.SecurityProperties;
 import com.tnh.baseware.core.repositories.user.ITokenRepository;
 import com.tnh.baseware.core.repositories.user.IUserRepository;
 import com.tnh.baseware.core.services.MessageService;
-import com.tnh.baseware.core.utils.BasewareUtils;
 import com.tnh.baseware.core.utils.LogStyleHelper;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +29,7 @@ import java.text.ParseException;
 import java.time.Instant;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -38,7 +37,15 @@ import java.util.function.Function;
 @Service
 public class JwtTokenService {
 
+    // the registered iat claim only keeps whole seconds, too coarse to order tokens against revocations
+    private static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+
     ITokenRepository tokenRepository;
+    TokenValidityCache tokenValidityCache;
+    TokenJournal tokenJournal;
+    TokenRevocationWriter tokenRevocationWriter;
+    AuditorAware<String> auditorProvider;
+    RevocationEpochService revocationEpochService;
     IUserRepository userRepository;
     SecurityProperties securityProperties;
     JwtSecretProvider jwtSecretProvider;
@@ -94,37 +101,37 @@ public class JwtTokenService {
     private Optional<String> buildToken(Map<String, Object> extraClaims, CustomUserDetails userDetails, long expiration, String tokenType, HttpServletRequest request, UUID sessionId) {
         try {
             var header = new JWSHeader(JWSAlgorithm.HS512);
-            var ip = request.getRemoteAddr();
-            var userAgent = request.getHeader("User-Agent");
+            var issuedAt = Instant.now();
+            var expiresAt = issuedAt.plusMillis(expiration);
 
             var claimsBuilder = new JWTClaimsSet.Builder()
                     .subject(userDetails.getUsername())
                     .issuer(securityProperties.getJwt().getIssuer())
-                    .issueTime(new Date())
-                    .expirationTime(Date.from(Instant.now().plusMillis(expiration)))
+                    .issueTime(Date.from(issuedAt))
+                    .expirationTime(Date.from(expiresAt))
                     .jwtID(UUID.randomUUID().toString())
-                    .claim("sid", String.valueOf(sessionId));
+                    .claim("sid", String.valueOf(sessionId))
+                    .claim("token_type", tokenType)
+                    .claim(ISSUED_AT_MILLIS_CLAIM, issuedAt.toEpochMilli());
             extraClaims.forEach(claimsBuilder::claim);
 
             var claimsSet = claimsBuilder.build();
             var signedJWT = new SignedJWT(header, claimsSet);
-            signedJWT.sign(new MACSigner(jwtSecretProvider.getDecodedSecretKey()));
-
-            var token = Token.builder()
-                    .jti(claimsSet.getJWTID())
-                    .sessionId(sessionId)
-                    .tokenType(tokenType)
-                    .ipAddress(ip)
-                    .deviceId(BasewareUtils.generateDeviceId(request))
-                    .device(BasewareUtils.getDevice(userAgent))
-                    .platform(BasewareUtils.getPlatform(userAgent))
-                    .browser(BasewareUtils.getBrowser(userAgent))
-                    .revoked(false)
-                    .expired(false)
-                    .user(userDetails.getUser())
-                    .expiration(Instant.now().plusMillis(expiration))
-                    .build();
-            tokenRepository.save(token);
+            signedJWT.sign(jwtSecretProvider.getSigner());
+
+            // device fingerprinting and the INSERT happen in the journal's flusher, off the login path
+            tokenJournal.append(new TokenJournal.PendingToken(
+                    claimsSet.getJWTID(),
+                    sessionId,
+                    tokenType,
+                    request.getRemoteAddr(),
+                    request.getHeader("User-Agent"),
+                    request.getHeader("Accept-Language"),
+                    userDetails.getId(),
+                    auditorProvider.getCurrentAuditor().orElse(userDetails.getUsername()),
+                    issuedAt,
+                    expiresAt));
+            tokenValidityCache.put(claimsSet.getJWTID(), new TokenValidityCache.TokenState(false, false, expiresAt));
             return signedJWT.serialize().describeConstable();
         } catch (JOSEException e) {
             log.error(LogStyleHelper.error("Error occurred while generating JWT: {}"), e.getMessage());
@@ -132,61 +139,114 @@ public class JwtTokenService {
         }
     }
 
+    public Optional<VerifiedToken> verifyToken(HttpServletRequest request, String token) {
+        if (request.getAttribute(VerifiedToken.REQUEST_ATTRIBUTE) instanceof VerifiedToken verified
+                && Objects.equals(verified.token(), token)) {
+            return Optional.of(verified);
+        }
+
+        var verified = verifyToken(token);
+        verified.ifPresent(v -> request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, v));
+        return verified;
+    }
+
+    public Optional<VerifiedToken> verifyToken(String token) {
+        try {
+            var signedJWT = SignedJWT.parse(token);
+            var claims = signedJWT.getJWTClaimsSet();
+
+            return Optional.of(new VerifiedToken(
+                    token,
+                    claims.getSubject(),
+                    Objects.toString(claims.getClaim("sid"), null),
+                    claims.getJWTID(),
+                    Objects.toString(claims.getClaim("token_type"), null),
+                    issuedAt(claims),
+                    Optional.ofNullable(claims.getExpirationTime()).map(Date::toInstant).orElse(null),
+                    isVerified(signedJWT, claims)));
+        } catch (ParseException e) {
+            log.error(LogStyleHelper.error("Error occurred while parsing JWT: {}"), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @SuppressWarnings("BooleanMethodIsAlwaysInverted")
+    public boolean isTokenValid(VerifiedToken verifiedToken, CustomUserDetails userDetails) {
+        if (!verifiedToken.valid()) {
+            return false;
+        }
+
+        if (!verifiedToken.belongsTo(userDetails.getUsername())) {
+            log.debug(LogStyleHelper.debug("JWT username mismatch: expected '{}', found '{}'"), userDetails.getUsername(), verifiedToken.username());
+            return false;
+        }
+        return true;
+    }
+
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
     public boolean isTokenValid(String token, CustomUserDetails userDetails) {
+        return verifyToken(token)
+                .map(verifiedToken -> isTokenValid(verifiedToken, userDetails))
+                .orElse(false);
+    }
+
+    private boolean isVerified(SignedJWT signedJWT, JWTClaimsSet claims) {
         try {
-            var signedJWT = SignedJWT.parse(token);
-            if (!signedJWT.verify(new MACVerifier(jwtSecretProvider.getDecodedSecretKey()))) {
+            if (!signedJWT.verify(jwtSecretProvider.getVerifier())) {
                 log.debug(LogStyleHelper.debug("JWT signature verification failed"));
                 return false;
             }
+        } catch (JOSEException e) {
+            log.error(LogStyleHelper.error("Error occurred while verifying token: {}"), e.getMessage());
+            return false;
+        }
 
-            var claims = signedJWT.getJWTClaimsSet();
-            var username = claims.getSubject();
-            var expiration = claims.getExpirationTime();
-            var jti = claims.getJWTID();
+        var expiration = claims.getExpirationTime();
+        var jti = claims.getJWTID();
 
-            if (!Objects.equals(userDetails.getUsername(), username)) {
-                log.debug(LogStyleHelper.debug("JWT username mismatch: expected '{}', found '{}'"), userDetails.getUsername(), username);
-                return false;
-            }
+        if (expiration == null || expiration.before(new Date())) {
+            log.debug(LogStyleHelper.debug("JWT has expired at {}"), expiration);
+            return false;
+        }
 
-            if (expiration == null || expiration.before(new Date())) {
-                log.debug(LogStyleHelper.debug("JWT has expired at {}"), expiration);
-                return false;
-            }
+        if (jti == null) {
+            log.debug(LogStyleHelper.debug("JWT ID (jti) is missing"));
+            return false;
+        }
 
-            if (jti == null) {
-                log.debug(LogStyleHelper.debug("JWT ID (jti) is missing"));
-                return false;
-            }
+        if (revocationEpochService.isRevoked(claims.getSubject(),
+                Objects.toString(claims.getClaim("sid"), null),
+                Objects.toString(claims.getClaim("token_type"), null),
+                issuedAt(claims))) {
+            log.debug(LogStyleHelper.debug("Token with jti={} was issued before a revocation epoch"), jti);
+            return false;
+        }
 
-            return tokenRepository.findByJti(jti)
-                    .map(tokenObj -> {
-                        if (tokenObj.getRevoked() || tokenObj.getExpired()) {
-                            log.debug(LogStyleHelper.debug("Token with jti={} is revoked or expired"), jti);
-                            return false;
-                        }
-                        return true;
-                    })
-                    .orElseGet(() -> {
-                        log.debug(LogStyleHelper.debug("Token with jti={} not found in repository"), jti);
+        return tokenValidityCache.get(jti)
+                .map(tokenState -> {
+                    if (tokenState.revoked() || tokenState.expired()) {
+                        log.debug(LogStyleHelper.debug("Token with jti={} is revoked or expired"), jti);
                         return false;
-                    });
-        } catch (JOSEException | ParseException e) {
-            log.error(LogStyleHelper.error("Error occurred while verifying token: {}"), e.getMessage());
-            return false;
+                    }
+                    return true;
+                })
+                .orElseGet(() -> {
+                    log.debug(LogStyleHelper.debug("Token with jti={} not found in repository"), jti);
+                    return false;
+                });
+    }
+
+    private static Instant issuedAt(JWTClaimsSet claims) {
+        if (claims.getClaim(ISSUED_AT_MILLIS_CLAIM) instanceof Number millis) {
+            return Instant.ofEpochMilli(millis.longValue());
         }
+        return Optional.ofNullable(claims.getIssueTime()).map(Date::toInstant).orElse(null);
     }
 
     @Transactional
-    public void revokeAllValidTokensBySessionId(UUID sessionId) {
-        tokenRepository.findAllBySessionId(sessionId)
-                .forEach(token -> {
-                    token.setRevoked(true);
-                    token.setExpired(true);
-                    tokenRepository.save(token);
-                });
+    public void revokeAllValidTokensBySessionId(String username, UUID sessionId) {
+        revoke(revocationEpochService.revokeSession(username, String.valueOf(sessionId), null),
+                () -> tokenRepository.revokeAllBySessionId(sessionId, Instant.now()));
     }
 
     @Transactional
@@ -194,12 +254,8 @@ public class JwtTokenService {
         var user = userRepository.findById(userId).orElseThrow(() ->
                 new BWCNotFoundException(messageService.getMessage("user.not.found", userId)));
 
-        tokenRepository.findAllByUserAndRevokedFalseAndExpiredFalse(user)
-                .forEach(token -> {
-                    token.setRevoked(true);
-                    token.setExpired(true);
-                    tokenRepository.save(token);
-                });
+        revoke(revocationEpochService.revokeUser(user.getUsername(), null),
+                () -> tokenRepository.revokeAllByUser(user.getId(), Instant.now()));
     }
 
     @Transactional
@@ -207,26 +263,14 @@ public class JwtTokenService {
         var user = userRepository.findById(userId).orElseThrow(() ->
                 new BWCNotFoundException(messageService.getMessage("user.not.found", userId)));
 
-        tokenRepository.findAllByUserAndRevokedFalseAndExpiredFalse(user)
-                .stream()
-                .filter(token -> Objects.equals(token.getTokenType(), TokenType.ACCESS.getValue()))
-                .forEach(token -> {
-                    token.setRevoked(true);
-                    token.setExpired(true);
-                    tokenRepository.save(token);
-                });
+        revoke(revocationEpochService.revokeUser(user.getUsername(), TokenType.ACCESS),
+                () -> tokenRepository.revokeAllByUserAndTokenType(user.getId(), TokenType.ACCESS.getValue(), Instant.now()));
     }
 
     @Transactional
-    public void revokeAllValidAccessTokensBySessionId(UUID sessionId) {
-        tokenRepository.findAllBySessionId(sessionId)
-                .stream()
-                .filter(token -> Objects.equals(token.getTokenType(), TokenType.ACCESS.getValue()))
-                .forEach(token -> {
-                    token.setRevoked(true);
-                    token.setExpired(true);
-                    tokenRepository.save(token);
-                });
+    public void revokeAllValidAccessTokensBySessionId(String username, UUID sessionId) {
+        revoke(revocationEpochService.revokeSession(username, String.valueOf(sessionId), TokenType.ACCESS),
+                () -> tokenRepository.revokeAllBySessionIdAndTokenType(sessionId, TokenType.ACCESS.getValue(), Instant.now()));
     }
 
     @Transactional
@@ -234,11 +278,29 @@ public class JwtTokenService {
         var user = userRepository.findById(userId).orElseThrow(() ->
                 new BWCNotFoundException(messageService.getMessage("user.not.found", userId)));
 
-        tokenRepository.findAllByUserAndDeviceId(user, deviceId)
-                .forEach(token -> {
-                    token.setRevoked(true);
-                    token.setExpired(true);
-                    tokenRepository.save(token);
-                });
+        // tokens still waiting in the journal would be missed by the lookup below
+        tokenJournal.flush();
+        var tokens = tokenRepository.findAllByUserAndDeviceId(user, deviceId);
+        tokens.forEach(token -> {
+            token.setRevoked(true);
+            token.setExpired(true);
+        });
+        tokenRepository.saveAll(tokens);
+        // devices have no epoch of their own, so the affected jtis are revoked in the cache directly
+        tokenValidityCache.revoke(tokens.stream().map(Token::getJti).toList());
+    }
+
+    /**
+     * With the epoch written, the revocation is complete and the Token rows are flagged in the
+     * background. Without it, the flags are the only record of the revocation, so the journal is
+     * flushed and the rows are flagged before the request returns.
+     */
+    private void revoke(boolean epochWritten, Supplier<List<String>> update) {
+        if (epochWritten) {
+            tokenRevocationWriter.markRevokedAsync(update);
+            return;
+        }
+        tokenJournal.flush();
+        tokenRevocationWriter.markRevoked(update);
     }
 }
@@ -2,11 +2,11 @@ package com.tnh.baseware.core.securities;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tnh.baseware.core.dtos.user.ApiMessageDTO;
-import com.tnh.baseware.core.entities.user.CustomUserDetails;
 import com.tnh.baseware.core.properties.SecurityProperties;
 import com.tnh.baseware.core.properties.SystemProperties;
 import com.tnh.baseware.core.services.MessageService;
 import com.tnh.baseware.core.services.audit.ITrackActivityService;
+import com.tnh.baseware.core.services.user.imp.CustomUserDetailsService;
 import com.tnh.baseware.core.services.user.imp.PrivilegeCacheService;
 import com.tnh.baseware.core.utils.LogStyleHelper;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,7 +18,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
 import org.springframework.stereotype.Service;
 
@@ -33,7 +32,7 @@ public class LogoutService implements LogoutHandler {
 
     JwtTokenService jwtTokenService;
     PrivilegeCacheService privilegeCacheService;
-    UserDetailsService userDetailsService;
+    CustomUserDetailsService userDetailsService;
     MessageService messageService;
     SecurityProperties securityProperties;
     SystemProperties systemProperties;
@@ -55,17 +54,20 @@ public class LogoutService implements LogoutHandler {
         log.debug(LogStyleHelper.debug("JWT Token received: {}"), accessToken);
 
         try {
-            var username = jwtTokenService.extractUsername(accessToken);
-            var sessionId = jwtTokenService.extractSessionId(accessToken);
+            var verifiedToken = jwtTokenService.verifyToken(request, accessToken)
+                    .filter(VerifiedToken::isUsable)
+                    .orElse(null);
 
-            if (username.isEmpty() || sessionId.isEmpty()) {
+            if (verifiedToken == null) {
                 log.debug(LogStyleHelper.debug("Logout failed: Token is invalid"));
                 sendErrorResponse(response);
                 return;
             }
 
-            var userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(username.get());
-            if (!jwtTokenService.isTokenValid(accessToken, userDetails)) {
+            var username = verifiedToken.username();
+            var sessionId = verifiedToken.sessionId();
+            var userDetails = userDetailsService.loadPrincipalByUsername(username);
+            if (!jwtTokenService.isTokenValid(verifiedToken, userDetails)) {
                 sendErrorResponse(response);
                 log.debug(LogStyleHelper.debug("Logout failed: Token is invalid"));
                 return;
@@ -73,20 +75,20 @@ public class LogoutService implements LogoutHandler {
 
             if (securityProperties.getJwt().isAllowMultipleDevices()) {
                 // multiple device login
-                jwtTokenService.revokeAllValidTokensBySessionId(UUID.fromString(sessionId.get()));
-                privilegeCacheService.clearUserPrivilegeAsync(String.valueOf(userDetails.getUser().getId()), sessionId.get());
+                jwtTokenService.revokeAllValidTokensBySessionId(username, UUID.fromString(sessionId));
+                privilegeCacheService.clearUserPrivilegeAsync(String.valueOf(userDetails.getId()), sessionId);
             } else {
                 // single device login
-                jwtTokenService.revokeAllValidTokensByUser(userDetails.getUser().getId());
-                privilegeCacheService.clearUserPrivilegeAsync(String.valueOf(userDetails.getUser().getId()));
+                jwtTokenService.revokeAllValidTokensByUser(userDetails.getId());
+                privilegeCacheService.clearUserPrivilegeAsync(String.valueOf(userDetails.getId()));
             }
 
             if (systemProperties.isTrackingActive())
                 trackActivityService.trackLogout(request.getRemoteAddr(),
                         request.getHeader("User-Agent"),
-                        String.valueOf(username));
+                        username);
 
-            log.debug(LogStyleHelper.debug("Logout successful. Token revoked and cache cleared for user ID: {}"), userDetails.getUser().getId());
+            log.debug(LogStyleHelper.debug("Logout successful. Token revoked and cache cleared for user ID: {}"), userDetails.getId());
         } catch (Exception e) {
             log.debug(LogStyleHelper.debug("Logout failed: Failed to revoke token: {}"), e.getMessage());
             sendErrorResponse(response);
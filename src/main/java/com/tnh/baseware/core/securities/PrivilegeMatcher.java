@@ -0,0 +1,225 @@
+package com.tnh.baseware.core.securities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable matcher compiled from one privilege set. Patterns produced by
+ * {@code PrivilegeExtractorUtils} are loaded into a path trie per HTTP method: literal segments are
+ * children, {@code [^/]+} is a single-segment parameter node, and the controller wildcard
+ * {@code (/.*)?} marks a prefix node. Patterns of any other shape, such as ones edited by hand, fall
+ * back to regular expressions. Literal children are kept sorted and found by binary search, so the
+ * cost of a match grows with the depth of the URI, not with the number of privileges. Matching walks
+ * the request URI in place and allocates nothing.
+ */
+public final class PrivilegeMatcher {
+
+    private static final String ANY_METHOD = "*";
+    private static final String PARAM_SEGMENT = "[^/]+";
+    private static final String PREFIX_SUFFIX = "(/.*)?";
+    private static final String ANY_BELOW_SUFFIX = "/.*";
+    private static final Pattern LITERAL_SEGMENT = Pattern.compile("[A-Za-z0-9_\\-]*");
+
+    private final Set<String> sources;
+    private final String[] methods;
+    private final Node[] roots;
+    private final String[] fallbackMethods;
+    private final Pattern[] fallbackPatterns;
+
+    private PrivilegeMatcher(Set<String> sources, List<String> methods, List<Node> roots,
+                             List<String> fallbackMethods, List<Pattern> fallbackPatterns) {
+        this.sources = sources;
+        this.methods = methods.toArray(String[]::new);
+        this.roots = roots.toArray(Node[]::new);
+        this.fallbackMethods = fallbackMethods.toArray(String[]::new);
+        this.fallbackPatterns = fallbackPatterns.toArray(Pattern[]::new);
+    }
+
+    public static PrivilegeMatcher compile(Collection<String> privileges) {
+        var sources = Set.copyOf(privileges);
+        var methods = new ArrayList<String>();
+        var roots = new ArrayList<Node>();
+        var fallbackMethods = new ArrayList<String>();
+        var fallbackPatterns = new ArrayList<Pattern>();
+
+        for (var privilege : sources) {
+            // wildcard controller privileges carry no method, specific ones are "METHOD:regex"
+            var separator = privilege.indexOf(':');
+            var method = separator < 0 ? ANY_METHOD : privilege.substring(0, separator).toUpperCase();
+            var regex = separator < 0 ? privilege : privilege.substring(separator + 1);
+
+            var index = methods.indexOf(method);
+            if (index < 0) {
+                methods.add(method);
+                roots.add(new Node(""));
+                index = methods.size() - 1;
+            }
+
+            if (!insert(roots.get(index), regex)) {
+                fallbackMethods.add(method);
+                fallbackPatterns.add(Pattern.compile(regex));
+            }
+        }
+        return new PrivilegeMatcher(sources, methods, roots, fallbackMethods, fallbackPatterns);
+    }
+
+    /**
+     * Order-independent fingerprint of a privilege set, used as the matcher cache key. Equal sets
+     * always share a fingerprint; a hit must still be confirmed with {@link #isCompiledFrom}.
+     */
+    public static long fingerprint(Collection<String> privileges) {
+        long hash = privileges.size();
+        for (var privilege : privileges) {
+            hash += mix(privilege.hashCode());
+        }
+        return hash;
+    }
+
+    public boolean isCompiledFrom(Collection<String> privileges) {
+        return privileges.size() == sources.size() && sources.containsAll(privileges);
+    }
+
+    public boolean matches(String requestMethod, String requestURI) {
+        if (requestURI == null) return false;
+
+        for (var i = 0; i < methods.length; i++) {
+            var method = methods[i];
+            if ((method.equals(ANY_METHOD) || method.equalsIgnoreCase(requestMethod))
+                    && match(roots[i], requestURI, 0)) {
+                return true;
+            }
+        }
+
+        for (var i = 0; i < fallbackPatterns.length; i++) {
+            var method = fallbackMethods[i];
+            if ((method.equals(ANY_METHOD) || method.equalsIgnoreCase(requestMethod))
+                    && fallbackPatterns[i].matcher(requestURI).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return sources.size();
+    }
+
+    private static boolean match(Node node, String uri, int position) {
+        var length = uri.length();
+        var atBoundary = position == length || uri.charAt(position) == '/';
+
+        if (node.prefix && atBoundary) return true;
+        if (position == length) return node.terminal;
+        if (uri.charAt(position) != '/') return false;
+        if (node.anyBelow) return true;
+
+        var start = position + 1;
+        var end = uri.indexOf('/', start);
+        if (end < 0) end = length;
+        var segmentLength = end - start;
+
+        var literal = node.find(uri, start, end);
+        if (literal != null && match(literal, uri, end)) return true;
+        return node.param != null && segmentLength > 0 && match(node.param, uri, end);
+    }
+
+    private static boolean insert(Node root, String regex) {
+        if (!regex.startsWith("^") || !regex.endsWith("$")) return false;
+
+        var body = regex.substring(1, regex.length() - 1);
+        var prefix = body.endsWith(PREFIX_SUFFIX);
+        var anyBelow = !prefix && body.endsWith(ANY_BELOW_SUFFIX);
+        if (prefix) body = body.substring(0, body.length() - PREFIX_SUFFIX.length());
+        if (anyBelow) body = body.substring(0, body.length() - ANY_BELOW_SUFFIX.length());
+        if (!body.startsWith("/")) return false;
+
+        var segments = body.substring(1).split("/", -1);
+        for (var segment : segments) {
+            if (!segment.equals(PARAM_SEGMENT) && !LITERAL_SEGMENT.matcher(segment).matches()) return false;
+        }
+
+        var node = root;
+        for (var segment : segments) {
+            node = segment.equals(PARAM_SEGMENT) ? node.param() : node.literal(segment);
+        }
+        if (prefix) node.prefix = true;
+        else if (anyBelow) node.anyBelow = true;
+        else node.terminal = true;
+        return true;
+    }
+
+    private static long mix(long value) {
+        // SplitMix64 finalizer, spreads String.hashCode before summing
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    private static final class Node {
+        final String segment;
+        Node[] literals = new Node[0];
+        Node param;
+        boolean terminal;
+        boolean prefix;
+        boolean anyBelow;
+
+        Node(String segment) {
+            this.segment = segment;
+        }
+
+        Node literal(String segment) {
+            var index = search(segment, 0, segment.length());
+            if (index >= 0) return literals[index];
+
+            // keeps the children sorted by segment for find
+            var insertAt = -index - 1;
+            var child = new Node(segment);
+            var grown = new Node[literals.length + 1];
+            System.arraycopy(literals, 0, grown, 0, insertAt);
+            grown[insertAt] = child;
+            System.arraycopy(literals, insertAt, grown, insertAt + 1, literals.length - insertAt);
+            literals = grown;
+            return child;
+        }
+
+        Node find(String uri, int start, int end) {
+            var index = search(uri, start, end);
+            return index >= 0 ? literals[index] : null;
+        }
+
+        /**
+         * Binary search for the region {@code [start, end)} of {@code text}, ordered like
+         * {@link String#compareTo}. Returns the index, or {@code -(insertion point) - 1}.
+         */
+        private int search(String text, int start, int end) {
+            var low = 0;
+            var high = literals.length - 1;
+            while (low <= high) {
+                var middle = (low + high) >>> 1;
+                var comparison = compare(literals[middle].segment, text, start, end);
+                if (comparison < 0) low = middle + 1;
+                else if (comparison > 0) high = middle - 1;
+                else return middle;
+            }
+            return -(low + 1);
+        }
+
+        private static int compare(String segment, String text, int start, int end) {
+            var length = end - start;
+            var common = Math.min(segment.length(), length);
+            for (var i = 0; i < common; i++) {
+                var difference = segment.charAt(i) - text.charAt(start + i);
+                if (difference != 0) return difference;
+            }
+            return segment.length() - length;
+        }
+
+        Node param() {
+            if (param == null) param = new Node(PARAM_SEGMENT);
+            return param;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.tnh.baseware.core.securities;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tnh.baseware.core.enums.TokenType;
+import com.tnh.baseware.core.properties.SecurityProperties;
+import com.tnh.baseware.core.utils.LogStyleHelper;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores "valid-after" epochs per user and per session. Any token issued up to a matching epoch,
+ * compared in milliseconds, is rejected, so revoking every token of a user or session is a single
+ * Redis write instead of one UPDATE per Token row. The epoch is the authoritative check; the Token
+ * table flags follow in the background and are only written on the request path when the epoch
+ * could not be written.
+ * <p>
+ * Epochs of a user live in one Redis hash ({@code <prefix><username>}) with the fields
+ * {@code user}, {@code user:access}, {@code <sessionId>} and {@code <sessionId>:access}, and expire
+ * with the longest token lifetime.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RevocationEpochService implements MessageListener {
+
+    private static final String USER_FIELD = "user";
+
+    RedisTemplate<String, Object> redisTemplate;
+    RedisMessageListenerContainer listenerContainer;
+    SecurityProperties securityProperties;
+    Cache<String, Map<String, Long>> localCache;
+
+    public RevocationEpochService(RedisTemplate<String, Object> redisTemplate,
+                                  RedisMessageListenerContainer listenerContainer,
+                                  SecurityProperties securityProperties) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.securityProperties = securityProperties;
+        this.localCache = CacheBuilder.newBuilder()
+                .maximumSize(securityProperties.getTokenCache().getLocalMaxSize())
+                .expireAfterWrite(securityProperties.getTokenCache().getLocalTtl(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(securityProperties.getTokenCache().getEpochChannel()));
+    }
+
+    /**
+     * Returns whether the epoch was written; when it was not, the caller has to revoke the tokens by
+     * other means.
+     */
+    public boolean revokeUser(String username, TokenType tokenType) {
+        return advance(username, scopedField(USER_FIELD, tokenType));
+    }
+
+    public boolean revokeSession(String username, String sessionId, TokenType tokenType) {
+        return advance(username, scopedField(sessionId, tokenType));
+    }
+
+    public boolean isRevoked(String username, String sessionId, String tokenType, Instant issuedAt) {
+        if (username == null || issuedAt == null) return true;
+
+        var epochs = getEpochs(username);
+        if (epochs.isEmpty()) return false;
+
+        // tokens carry their issue time in milliseconds, so a token issued in the same second as a
+        // revocation but before it is rejected, while one issued right after it stays valid
+        var issuedAtMillis = issuedAt.toEpochMilli();
+        var isAccess = TokenType.ACCESS.getValue().equals(tokenType);
+
+        return issuedNotAfter(epochs, USER_FIELD, issuedAtMillis)
+                || (isAccess && issuedNotAfter(epochs, scopedField(USER_FIELD, TokenType.ACCESS), issuedAtMillis))
+                || (sessionId != null && issuedNotAfter(epochs, sessionId, issuedAtMillis))
+                || (sessionId != null && isAccess
+                && issuedNotAfter(epochs, scopedField(sessionId, TokenType.ACCESS), issuedAtMillis));
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        var username = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (username != null) {
+            localCache.invalidate(username.toString());
+        }
+    }
+
+    private boolean advance(String username, String field) {
+        var key = securityProperties.getTokenCache().getEpochPrefix() + username;
+        var epochMillis = Instant.now().toEpochMilli();
+
+        localCache.invalidate(username);
+        try {
+            redisTemplate.opsForHash().put(key, field, epochMillis);
+            redisTemplate.expire(key, securityProperties.getJwt().getRefreshExpiration(), TimeUnit.MILLISECONDS);
+            redisTemplate.convertAndSend(securityProperties.getTokenCache().getEpochChannel(), username);
+            log.debug(LogStyleHelper.debug("Advanced revocation epoch {} for user {} to {}"), field, username, epochMillis);
+            return true;
+        } catch (Exception e) {
+            log.error(LogStyleHelper.error("Error writing revocation epoch {} for user {}, relying on token flags: {}"),
+                    field, username, e.getMessage());
+            return false;
+        }
+    }
+
+    private Map<String, Long> getEpochs(String username) {
+        var cached = localCache.getIfPresent(username);
+        if (cached != null) return cached;
+
+        try {
+            var entries = redisTemplate.opsForHash()
+                    .entries(securityProperties.getTokenCache().getEpochPrefix() + username);
+            var epochs = new HashMap<String, Long>();
+            entries.forEach((field, value) -> {
+                if (value instanceof Number number) {
+                    epochs.put(field.toString(), number.longValue());
+                }
+            });
+
+            var immutable = Map.copyOf(epochs);
+            localCache.put(username, immutable);
+            return immutable;
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error reading revocation epochs for user {}: {}"), username, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private static boolean issuedNotAfter(Map<String, Long> epochs, String field, long issuedAtMillis) {
+        return Optional.ofNullable(epochs.get(field))
+                .map(epoch -> issuedAtMillis <= epoch)
+                .orElse(false);
+    }
+
+    private static String scopedField(String field, TokenType tokenType) {
+        return tokenType == null ? field : field + ":" + tokenType.getValue();
+    }
+}
@@ -0,0 +1,267 @@
+package com.tnh.baseware.core.securities;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tnh.baseware.core.audits.UuidV7Generator;
+import com.tnh.baseware.core.properties.SecurityProperties;
+import com.tnh.baseware.core.utils.BasewareUtils;
+import com.tnh.baseware.core.utils.LogStyleHelper;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind journal for issued tokens. Login and refresh append the token to a bounded queue
+ * and a Redis hash shared by all nodes; a scheduled flusher inserts the queue into the Token table
+ * as JDBC batches, each in a transaction of its own, and removes the flushed entries from Redis once
+ * that transaction has committed. When the database is unavailable the batch goes back to the queue
+ * and the flusher backs off exponentially; when it rejects rows, the batch is bisected and the rows
+ * that fail on their own are parked under a dead-letter key instead of being retried forever.
+ * Entries left in Redis by a crashed node are persisted by whichever node replays the shared
+ * journal next, and the queue is drained on shutdown. Inserts ignore known jtis, so concurrent
+ * replays are harmless.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TokenJournal {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO tokens (id, jti, session_id, token_type, device_id, device, ip_address, platform, browser,
+                                revoked, expired, expiration, user_id, created_by, created_date, modified_by,
+                                modified_date, deleted)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, false, false, ?, ?, ?, ?, ?, ?, false)
+            ON CONFLICT (jti) DO NOTHING
+            """;
+
+    JdbcTemplate jdbcTemplate;
+    RedisTemplate<String, Object> redisTemplate;
+    ObjectMapper objectMapper;
+    TransactionTemplate transactionTemplate;
+    SecurityProperties.TokenJournal properties;
+    BlockingDeque<PendingToken> queue;
+    String journalKey;
+    String deadLetterKey;
+    AtomicInteger failures = new AtomicInteger();
+    AtomicLong retryAt = new AtomicLong();
+
+    public TokenJournal(JdbcTemplate jdbcTemplate,
+                        RedisTemplate<String, Object> redisTemplate,
+                        ObjectMapper objectMapper,
+                        PlatformTransactionManager transactionManager,
+                        SecurityProperties securityProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        // flushes also run on request threads; they must neither join nor abort the caller's transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = securityProperties.getTokenJournal();
+        this.queue = new LinkedBlockingDeque<>(properties.getCapacity());
+        this.journalKey = properties.getPrefix() + "pending";
+        this.deadLetterKey = properties.getPrefix() + "dead-letter";
+    }
+
+    public void append(PendingToken pendingToken) {
+        writeRemote(pendingToken);
+
+        if (!queue.offer(pendingToken)) {
+            // the journal is full: persist on the caller's thread instead of dropping the token
+            log.warn(LogStyleHelper.warn("Token journal is full, persisting token {} synchronously"), pendingToken.jti());
+            try {
+                persistOrPark(List.of(pendingToken));
+            } catch (Exception e) {
+                // still in the Redis journal, so the replay picks it up
+                log.error(LogStyleHelper.error("Error persisting token {}: {}"), pendingToken.jti(), e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${baseware.core.security.token-journal.flush-interval:200}")
+    public void scheduledFlush() {
+        if (System.currentTimeMillis() < retryAt.get()) return;
+        flush();
+    }
+
+    /**
+     * Persists the queue now, ignoring the backoff, for callers that need every issued token in
+     * the table. Returns quietly when the database is unavailable; the tokens stay queued.
+     */
+    public void flush() {
+        var batch = new ArrayList<PendingToken>(properties.getBatchSize());
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            try {
+                persistOrPark(batch);
+                failures.set(0);
+            } catch (Exception e) {
+                requeue(batch);
+                var backoff = backoff(failures.incrementAndGet());
+                retryAt.set(System.currentTimeMillis() + backoff);
+                log.error(LogStyleHelper.error("Error flushing {} token(s), retrying in {} ms: {}"),
+                        batch.size(), backoff, e.getMessage());
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Persists journal entries that outlived the replay age, left behind by a node that crashed or
+     * by batches that did not fit back into the queue.
+     */
+    @Scheduled(fixedDelayString = "${baseware.core.security.token-journal.replay-interval:60000}")
+    public void replay() {
+        try {
+            var entries = redisTemplate.opsForHash().values(journalKey);
+            if (entries.isEmpty()) return;
+
+            var orphanedBefore = Instant.now().minusMillis(properties.getReplayAge());
+            var pending = new ArrayList<PendingToken>();
+            for (var entry : entries) {
+                var token = objectMapper.readValue(entry.toString(), PendingToken.class);
+                if (token.issuedAt().isBefore(orphanedBefore)) pending.add(token);
+            }
+            if (pending.isEmpty()) return;
+
+            for (var from = 0; from < pending.size(); from += properties.getBatchSize()) {
+                persistOrPark(pending.subList(from, Math.min(from + properties.getBatchSize(), pending.size())));
+            }
+            log.info(LogStyleHelper.info("Replayed {} token(s) from the token journal"), pending.size());
+        } catch (Exception e) {
+            log.error(LogStyleHelper.error("Error replaying token journal {}: {}"), journalKey, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        log.info(LogStyleHelper.info("Draining {} pending token(s) before shutdown"), queue.size());
+        flush();
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Persists a batch, bisecting it when the database rejects rows so that the good rows still go
+     * through and only a row that fails on its own is parked. Other failures, such as a lost
+     * connection, are thrown for the caller to retry the whole batch.
+     */
+    private void persistOrPark(List<PendingToken> batch) {
+        try {
+            persist(batch);
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() == 1) {
+                park(batch.getFirst(), e);
+                return;
+            }
+            var middle = batch.size() / 2;
+            persistOrPark(batch.subList(0, middle));
+            persistOrPark(batch.subList(middle, batch.size()));
+        }
+    }
+
+    private void persist(List<PendingToken> batch) {
+        transactionTemplate.executeWithoutResult(status -> insert(batch));
+        removeRemote(batch);
+    }
+
+    private void insert(List<PendingToken> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, token) -> {
+            var client = BasewareUtils.getClientInfo(token.userAgent());
+            var now = Timestamp.from(token.issuedAt());
+            ps.setObject(1, UuidV7Generator.next());
+            ps.setString(2, token.jti());
+            ps.setObject(3, token.sessionId());
+            ps.setString(4, token.tokenType());
+            ps.setString(5, BasewareUtils.generateDeviceId(token.ipAddress(), token.userAgent(), token.acceptLanguage()));
+            ps.setString(6, client.device());
+            ps.setString(7, token.ipAddress());
+            ps.setString(8, client.platform());
+            ps.setString(9, client.browser());
+            ps.setTimestamp(10, Timestamp.from(token.expiration()));
+            ps.setObject(11, token.userId());
+            ps.setString(12, token.auditor());
+            ps.setTimestamp(13, now);
+            ps.setString(14, token.auditor());
+            ps.setTimestamp(15, now);
+        });
+    }
+
+    private void park(PendingToken pendingToken, Exception cause) {
+        log.error(LogStyleHelper.error("Token {} of user {} was rejected, moving it to {}: {}"),
+                pendingToken.jti(), pendingToken.userId(), deadLetterKey, cause.getMessage());
+        try {
+            redisTemplate.opsForHash().put(deadLetterKey, pendingToken.jti(), objectMapper.writeValueAsString(pendingToken));
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error writing token {} to the dead-letter journal: {}"), pendingToken.jti(), e.getMessage());
+        }
+        removeRemote(List.of(pendingToken));
+    }
+
+    /**
+     * Puts a failed batch back at the head of the queue, in order. Entries that no longer fit stay
+     * in the Redis journal for {@link #replay()}.
+     */
+    private void requeue(List<PendingToken> batch) {
+        var dropped = 0;
+        for (var i = batch.size() - 1; i >= 0; i--) {
+            if (!queue.offerFirst(batch.get(i))) dropped++;
+        }
+        if (dropped > 0) {
+            log.warn(LogStyleHelper.warn("Token journal is full, leaving {} token(s) to the journal replay"), dropped);
+        }
+    }
+
+    private long backoff(int failures) {
+        var exponent = Math.min(failures - 1, 20);
+        return Math.min(properties.getRetryBackoff() << exponent, properties.getMaxRetryBackoff());
+    }
+
+    private void writeRemote(PendingToken pendingToken) {
+        try {
+            redisTemplate.opsForHash().put(journalKey, pendingToken.jti(), objectMapper.writeValueAsString(pendingToken));
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error writing token {} to the Redis journal: {}"), pendingToken.jti(), e.getMessage());
+        }
+    }
+
+    private void removeRemote(List<PendingToken> batch) {
+        try {
+            redisTemplate.opsForHash().delete(journalKey, batch.stream().map(PendingToken::jti).toArray());
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error removing {} token(s) from the Redis journal: {}"), batch.size(), e.getMessage());
+        }
+    }
+
+    public record PendingToken(String jti,
+                               UUID sessionId,
+                               String tokenType,
+                               String ipAddress,
+                               String userAgent,
+                               String acceptLanguage,
+                               UUID userId,
+                               String auditor,
+                               Instant issuedAt,
+                               Instant expiration) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.tnh.baseware.core.securities;
+
+import com.tnh.baseware.core.utils.LogStyleHelper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Flags revoked Token rows and revokes their jtis in the token cache. Runs off the request path
+ * once a revocation epoch has been written, and on it when the epoch write failed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TokenRevocationWriter {
+
+    TokenValidityCache tokenValidityCache;
+
+    @Async
+    @Transactional
+    public void markRevokedAsync(Supplier<List<String>> update) {
+        try {
+            markRevoked(update);
+        } catch (Exception e) {
+            // the epoch already rejects these tokens; the rows are removed by the token cleanup
+            log.error(LogStyleHelper.error("Error flagging revoked tokens: {}"), e.getMessage());
+        }
+    }
+
+    @Transactional
+    public void markRevoked(Supplier<List<String>> update) {
+        var jtis = update.get();
+        tokenValidityCache.revoke(jtis);
+        log.debug(LogStyleHelper.debug("Flagged {} revoked token(s)"), jtis.size());
+    }
+}
@@ -0,0 +1,177 @@
+package com.tnh.baseware.core.securities;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tnh.baseware.core.entities.user.Token;
+import com.tnh.baseware.core.properties.SecurityProperties;
+import com.tnh.baseware.core.repositories.user.ITokenRepository;
+import com.tnh.baseware.core.utils.LogStyleHelper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two-tier cache of token states keyed by jti: a bounded in-process cache in front of Redis,
+ * with the Token table as the source of truth. Revocations are written through both tiers and
+ * broadcast over Redis pub/sub so every node drops its local copy. Lookups per tier and evictions
+ * are published as {@code token.cache.*} meters.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TokenValidityCache implements MessageListener {
+
+    ITokenRepository tokenRepository;
+    RedisTemplate<String, Object> redisTemplate;
+    RedisMessageListenerContainer listenerContainer;
+    ObjectMapper objectMapper;
+    SecurityProperties.TokenCache properties;
+    Cache<String, TokenState> localCache;
+
+    Counter redisHits;
+    Counter databaseLoads;
+    Counter remoteEvictions;
+
+    public TokenValidityCache(ITokenRepository tokenRepository,
+                              RedisTemplate<String, Object> redisTemplate,
+                              RedisMessageListenerContainer listenerContainer,
+                              ObjectMapper objectMapper,
+                              SecurityProperties securityProperties,
+                              MeterRegistry meterRegistry) {
+        this.tokenRepository = tokenRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.properties = securityProperties.getTokenCache();
+        this.localCache = CacheBuilder.newBuilder()
+                .maximumSize(properties.getLocalMaxSize())
+                .expireAfterWrite(properties.getLocalTtl(), TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+
+        // size, hits, misses and size evictions of the local tier
+        GuavaCacheMetrics.monitor(meterRegistry, localCache, "token.cache.local");
+        this.redisHits = lookups(meterRegistry, "redis");
+        this.databaseLoads = lookups(meterRegistry, "database");
+        this.remoteEvictions = Counter.builder("token.cache.remote.evictions")
+                .description("Local entries dropped on revocations broadcast by other nodes")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(properties.getChannel()));
+        log.debug(LogStyleHelper.debug("Subscribed to token revocation channel {}"), properties.getChannel());
+    }
+
+    public Optional<TokenState> get(String jti) {
+        var local = localCache.getIfPresent(jti);
+        if (local != null) return Optional.of(local);
+
+        var remote = readRemote(jti);
+        if (remote.isPresent()) {
+            redisHits.increment();
+            localCache.put(jti, remote.get());
+            return remote;
+        }
+
+        databaseLoads.increment();
+        var loaded = tokenRepository.findByJti(jti).map(TokenState::of);
+        loaded.ifPresent(state -> put(jti, state));
+        return loaded;
+    }
+
+    public void put(String jti, TokenState state) {
+        localCache.put(jti, state);
+        writeRemote(jti, state);
+    }
+
+    /**
+     * Caches the tokens as revoked, on every node. The state outlives the token, as its expiration is
+     * not known here; the Redis TTL caps it either way.
+     */
+    public void revoke(Collection<String> jtis) {
+        if (jtis.isEmpty()) return;
+
+        var state = new TokenState(true, true, Instant.now().plusMillis(properties.getRedisTtl()));
+        jtis.forEach(jti -> put(jti, state));
+        publish(jtis);
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        var payload = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (payload == null) return;
+
+        var jtis = Arrays.asList(payload.toString().split(","));
+        localCache.invalidateAll(jtis);
+        remoteEvictions.increment(jtis.size());
+        log.debug(LogStyleHelper.debug("Evicted {} revoked token(s) from local cache"), jtis.size());
+    }
+
+    private Optional<TokenState> readRemote(String jti) {
+        try {
+            var json = (String) redisTemplate.opsForValue().get(properties.getPrefix() + jti);
+            if (json == null) return Optional.empty();
+            return Optional.of(objectMapper.readValue(json, TokenState.class));
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error reading token state {} from Redis: {}"), jti, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void writeRemote(String jti, TokenState state) {
+        var ttl = Math.min(properties.getRedisTtl(), Duration.between(Instant.now(), state.expiration()).toMillis());
+        if (ttl <= 0) return;
+
+        try {
+            redisTemplate.opsForValue().set(properties.getPrefix() + jti,
+                    objectMapper.writeValueAsString(state), ttl, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error writing token state {} to Redis: {}"), jti, e.getMessage());
+        }
+    }
+
+    private void publish(Collection<String> jtis) {
+        try {
+            redisTemplate.convertAndSend(properties.getChannel(), String.join(",", jtis));
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error publishing token revocation: {}"), e.getMessage());
+        }
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("token.cache.lookups")
+                .description("Token state lookups that missed the local tier, by the tier that answered")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    public record TokenState(boolean revoked, boolean expired, Instant expiration) {
+
+        static TokenState of(Token token) {
+            return new TokenState(Boolean.TRUE.equals(token.getRevoked()),
+                    Boolean.TRUE.equals(token.getExpired()),
+                    token.getExpiration());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.tnh.baseware.core.securities;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Result of parsing and verifying a JWT once for the current request.
+ * Stored as a request attribute so later filters and services can reuse it
+ * instead of parsing, verifying and looking up the token again.
+ */
+public record VerifiedToken(String token,
+                            String username,
+                            String sessionId,
+                            String jti,
+                            String tokenType,
+                            Instant issuedAt,
+                            Instant expiresAt,
+                            boolean valid) {
+
+    public static final String REQUEST_ATTRIBUTE = VerifiedToken.class.getName();
+
+    public boolean isUsable() {
+        return valid && username != null && sessionId != null;
+    }
+
+    public boolean belongsTo(String expectedUsername) {
+        return Objects.equals(username, expectedUsername);
+    }
+}
@@ -0,0 +1,95 @@
+package com.tnh.baseware.core.services;
+
+import com.tnh.baseware.core.properties.SystemProperties;
+import com.tnh.baseware.core.utils.LogStyleHelper;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Per-entity change counters in Redis, shared by all nodes. Every write advances the counter of the
+ * written type after commit, so anything derived from a type's rows, such as cached results or
+ * collection ETags, can be addressed by the counter and goes stale with the next write.
+ */
+@Slf4j
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class EntityVersionService {
+
+    RedisTemplate<String, Object> redisTemplate;
+    SystemProperties.EntityVersion properties;
+
+    public EntityVersionService(RedisTemplate<String, Object> redisTemplate, SystemProperties systemProperties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = systemProperties.getEntityVersion();
+    }
+
+    /**
+     * The current version of an entity type, 0 before its first write, or empty when Redis cannot
+     * be read and the version is unknown.
+     */
+    public OptionalLong current(Class<?> entityClass) {
+        try {
+            return OptionalLong.of(redisTemplate.opsForValue().get(key(entityClass)) instanceof Number number
+                    ? number.longValue()
+                    : 0L);
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error reading version of {}: {}"), entityClass.getSimpleName(), e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Advances the version of an entity type once the current transaction commits, or right away
+     * without one. A rolled back transaction leaves the version untouched.
+     */
+    public void changed(Class<?> entityClass) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            advance(entityClass);
+            return;
+        }
+
+        for (var synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingAdvance pending && pending.owner() == this) {
+                pending.entityClasses().add(entityClass);
+                return;
+            }
+        }
+        var pending = new PendingAdvance(this, new LinkedHashSet<>());
+        pending.entityClasses().add(entityClass);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    private void advance(Class<?> entityClass) {
+        try {
+            var version = redisTemplate.opsForValue().increment(key(entityClass));
+            log.debug(LogStyleHelper.debug("Advanced version of {} to {}"), entityClass.getSimpleName(), version);
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error advancing version of {}: {}"), entityClass.getSimpleName(), e.getMessage());
+        }
+    }
+
+    private String key(Class<?> entityClass) {
+        return properties.getPrefix() + entityClass.getName();
+    }
+
+    /**
+     * Entity types written by the current transaction, advanced together after it commits.
+     */
+    private record PendingAdvance(EntityVersionService owner, Set<Class<?>> entityClasses)
+            implements TransactionSynchronization {
+
+        @Override
+        public void afterCommit() {
+            entityClasses.forEach(owner::advance);
+        }
+    }
+}
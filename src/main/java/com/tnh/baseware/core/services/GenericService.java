@@ -1,35 +1,77 @@
 package com.tnh.baseware.core.services;
 
+import com.tnh.baseware.core.components.FetchPlanResolver;
+import com.tnh.baseware.core.components.SecondLevelCacheSynchronizer;
+import com.google.common.collect.Lists;
+import com.tnh.baseware.core.dtos.audit.BulkFailureDTO;
+import com.tnh.baseware.core.dtos.audit.BulkResultDTO;
 import com.tnh.baseware.core.dtos.audit.EnumDTO;
+import com.tnh.baseware.core.entities.audit.Auditable;
+import com.tnh.baseware.core.entities.audit.Identifiable;
 import com.tnh.baseware.core.entities.user.CustomUserDetails;
 import com.tnh.baseware.core.entities.user.User;
 import com.tnh.baseware.core.enums.base.BaseEnum;
 import com.tnh.baseware.core.exceptions.BWCGenericRuntimeException;
 import com.tnh.baseware.core.exceptions.BWCNotFoundException;
+import com.tnh.baseware.core.exceptions.BWCValidationException;
+import com.tnh.baseware.core.exceptions.BasewareCoreException;
+import com.tnh.baseware.core.forms.audit.BulkUpdateForm;
 import com.tnh.baseware.core.mappers.IGenericMapper;
+import com.tnh.baseware.core.properties.SystemProperties;
 import com.tnh.baseware.core.repositories.IGenericRepository;
+import com.tnh.baseware.core.repositories.ProjectionRepository;
+import com.tnh.baseware.core.repositories.SearchQueryRepository;
+import com.tnh.baseware.core.specs.CompiledSearch;
+import com.tnh.baseware.core.specs.CountPolicy;
+import com.tnh.baseware.core.specs.CursorPage;
 import com.tnh.baseware.core.specs.GenericSpecification;
+import com.tnh.baseware.core.specs.KeysetCursor;
 import com.tnh.baseware.core.specs.SearchRequest;
+import com.tnh.baseware.core.utils.BasewareUtils;
+import com.tnh.baseware.core.utils.ClassIndex;
 import com.tnh.baseware.core.utils.LogStyleHelper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Path;
+import jakarta.validation.Validator;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.config.BeanDefinition;
-import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.data.web.SpringDataWebProperties;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Getter
@@ -43,7 +85,80 @@ public abstract class GenericService<E, F, D, R extends IGenericRepository<E, I>
     MessageService messageService;
     Class<E> entityClass;
 
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @Autowired
+    SearchCountService searchCountService;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @Autowired
+    ProjectionRepository projectionRepository;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @Autowired
+    SearchQueryRepository searchQueryRepository;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @Autowired
+    ResultCacheService resultCacheService;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @Autowired
+    EntityVersionService entityVersionService;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @Autowired
+    SecondLevelCacheSynchronizer secondLevelCacheSynchronizer;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @Autowired
+    FetchPlanResolver fetchPlanResolver;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @Autowired
+    Validator validator;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @Autowired
+    AuditorAware<String> auditorAware;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @Autowired
+    SystemProperties systemProperties;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @Autowired
+    SpringDataWebProperties springDataWebProperties;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    volatile Class<?> dtoClass;
+
     private static final Map<String, Class<?>> ENUM_CACHE = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, List<EnumDTO<?>>> ENUM_VALUES = new ConcurrentHashMap<>();
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int IN_CHUNK_SIZE = 1000;
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("createdDate"), Sort.Order.desc("id"));
 
     @Override
     @Transactional
@@ -82,10 +197,39 @@ public abstract class GenericService<E, F, D, R extends IGenericRepository<E, I>
         repository.softDeleteById(id);
     }
 
+    /**
+     * Kept for callers of the original API; {@link #softDeleteAll} is the implementation and also
+     * reports how many rows changed.
+     */
     @Override
     @Transactional
     public void softDeleteAllByIds(List<I> ids) {
-        repository.softDeleteByIdIn(ids);
+        softDeleteAll(ids);
+    }
+
+    @Override
+    public BulkResultDTO<I> createAll(List<F> forms) {
+        return bulk(forms, form -> null, batch -> {}, this::create);
+    }
+
+    @Override
+    public BulkResultDTO<I> updateAll(List<BulkUpdateForm<I, F>> forms) {
+        // loading the batch up front lets each update find its entity in the persistence context
+        return bulk(forms, BulkUpdateForm::getId,
+                batch -> repository.findAllById(batch.stream().map(BulkUpdateForm::getId).toList()),
+                form -> update(form.getId(), form.getData()));
+    }
+
+    @Override
+    @Transactional
+    public int softDeleteAll(List<I> ids) {
+        return markDeleted(ids, true);
+    }
+
+    @Override
+    @Transactional
+    public int restoreAll(List<I> ids) {
+        return markDeleted(ids, false);
     }
 
     @Override
@@ -106,6 +250,27 @@ public abstract class GenericService<E, F, D, R extends IGenericRepository<E, I>
                         messageService.getMessage("entity.not.found", entityClass.getSimpleName(), id.toString())));
     }
 
+    /**
+     * The modification date of one entity, selected without loading it, or empty when the entity
+     * does not exist or is not {@link Auditable}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Instant> findModifiedDate(I id) {
+        if (id == null || !Auditable.class.isAssignableFrom(entityClass)) return Optional.empty();
+
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Instant.class);
+        var root = query.from(entityClass);
+        query.select(root.<Instant>get("modifiedDate")).where(cb.equal(root.get("id"), id));
+        return entityManager.createQuery(query).getResultStream().findFirst();
+    }
+
+    @Override
+    public OptionalLong currentVersion() {
+        return entityVersionService.current(entityClass);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public E getReferenceById(I id) {
@@ -115,38 +280,68 @@ public abstract class GenericService<E, F, D, R extends IGenericRepository<E, I>
     @Override
     @Transactional(readOnly = true)
     public List<D> findAll() {
-        var sort = getDefaultSort();
-        return repository.findAll(sort).stream()
-                .map(mapper::entityToDTO)
-                .toList();
+        return cachedList("findAll", "", () ->
+                readAll(Specification.where(null), getDefaultSort()).stream()
+                        .map(mapper::entityToDTO)
+                        .toList());
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<D> findAll(Pageable pageable) {
         var sortedPageable = getSortedPageable(pageable);
-        return repository.findAll(sortedPageable).map(mapper::entityToDTO);
+        return cachedPage("findAllPage", sortedPageable.toString(), sortedPageable, () ->
+                readPage(Specification.where(null), sortedPageable).map(mapper::entityToDTO));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<D> findAll(String cursor, Integer size) {
+        return seek(Specification.where(null), cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findAll(Pageable pageable, List<String> fields) {
+        requireGenericRead("findAll");
+        return project(Specification.where(null), fields, getSortedPageable(pageable), CountPolicy.EXACT, null);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<D> findAllActive() {
-        return repository.findAllByDeletedFalse().stream()
-                .map(mapper::entityToDTO)
-                .toList();
+        return cachedList("findAllActive", "", () ->
+                readAll(notDeleted(), Sort.unsorted()).stream()
+                        .map(mapper::entityToDTO)
+                        .toList());
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<D> findAllActive(Pageable pageable) {
         var sortedPageable = getSortedPageable(pageable);
-        return repository.findAllByDeletedFalse(sortedPageable).map(mapper::entityToDTO);
+        return cachedPage("findAllActivePage", sortedPageable.toString(), sortedPageable, () ->
+                readPage(notDeleted(), sortedPageable).map(mapper::entityToDTO));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<D> findAllActive(String cursor, Integer size) {
+        return seek(notDeleted(), cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findAllActive(Pageable pageable, List<String> fields) {
+        requireGenericRead("findAllActive");
+        return project(notDeleted(), fields, getSortedPageable(pageable),
+                CountPolicy.EXACT, null);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<D> findAllByIds(List<I> ids) {
-        return repository.findByIdIn(ids).stream()
+        return readAll(idIn(ids), Sort.unsorted()).stream()
                 .map(mapper::entityToDTO)
                 .toList();
     }
@@ -155,13 +350,13 @@ public abstract class GenericService<E, F, D, R extends IGenericRepository<E, I>
     @Transactional(readOnly = true)
     public Page<D> findAllByIds(List<I> ids, Pageable pageable) {
         var sortedPageable = getSortedPageable(pageable);
-        return repository.findByIdIn(ids, sortedPageable).map(mapper::entityToDTO);
+        return readPage(idIn(ids), sortedPageable).map(mapper::entityToDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<D> findAllByIdsAndNotDeleted(List<I> ids) {
-        return repository.findByIdInAndDeletedFalse(ids).stream()
+        return readAll(idIn(ids).and(notDeleted()), Sort.unsorted()).stream()
                 .map(mapper::entityToDTO)
                 .toList();
     }
@@ -170,7 +365,7 @@ public abstract class GenericService<E, F, D, R extends IGenericRepository<E, I>
     @Transactional(readOnly = true)
     public Page<D> findAllByIdsAndNotDeleted(List<I> ids, Pageable pageable) {
         var sortedPageable = getSortedPageable(pageable);
-        return repository.findByIdInAndDeletedFalse(ids, sortedPageable).map(mapper::entityToDTO);
+        return readPage(idIn(ids).and(notDeleted()), sortedPageable).map(mapper::entityToDTO);
     }
 
     @Override
@@ -185,7 +380,7 @@ public abstract class GenericService<E, F, D, R extends IGenericRepository<E, I>
     @Override
     @Transactional(readOnly = true)
     public List<D> findAllByField(String fieldName, Object value) {
-        return repository.findAllByField(fieldName, value).stream()
+        return readAll(repository.createFieldSpecification(fieldName, value), Sort.unsorted()).stream()
                 .map(mapper::entityToDTO)
                 .toList();
     }
@@ -194,7 +389,7 @@ public abstract class GenericService<E, F, D, R extends IGenericRepository<E, I>
     @Transactional(readOnly = true)
     public Page<D> findAllByField(String fieldName, Object value, Pageable pageable) {
         var sortedPageable = getSortedPageable(pageable);
-        return repository.findAllByField(fieldName, value, sortedPageable).map(mapper::entityToDTO);
+        return readPage(repository.createFieldSpecification(fieldName, value), sortedPageable).map(mapper::entityToDTO);
     }
 
     @Override
@@ -206,40 +401,62 @@ public abstract class GenericService<E, F, D, R extends IGenericRepository<E, I>
     @Override
     @Transactional(readOnly = true)
     public Page<D> search(SearchRequest searchRequest) {
-        var specification = new GenericSpecification<E>(searchRequest);
         var pageable = GenericSpecification.getPageable(searchRequest.getPage(), searchRequest.getSize());
-        return repository.findAll(specification, pageable).map(mapper::entityToDTO);
+        CompiledSearch search;
+        try {
+            search = searchQueryRepository.compile(entityClass, searchRequest);
+        } catch (IllegalArgumentException e) {
+            throw new BWCValidationException(messageService.getMessage("search.invalid"), e);
+        }
+
+        var plan = getFetchPlan();
+        var fetchGraph = plan.isEmpty() ? null : fetchPlanResolver.toEntityGraph(entityManager, entityClass, plan);
+        return cachedPage("search", searchRequest, pageable, () -> switch (Objects.requireNonNullElse(
+                searchRequest.getCount(), CountPolicy.EXACT)) {
+            case EXACT -> PageableExecutionUtils.getPage(
+                    searchQueryRepository.findAll(entityClass, search, searchRequest, pageable, 0, fetchGraph),
+                    pageable, () -> searchQueryRepository.count(search, searchRequest)).map(mapper::entityToDTO);
+            case NONE -> {
+                var rows = searchQueryRepository.findAll(entityClass, search, searchRequest, pageable, 1, fetchGraph);
+                var hasNext = rows.size() > pageable.getPageSize();
+                var content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+                // lower bound: the paged model then links "next" exactly when another row exists
+                var total = pageable.getOffset() + content.size() + (hasNext ? 1 : 0);
+                yield new PageImpl<>(content, pageable, total).map(mapper::entityToDTO);
+            }
+            case ESTIMATED -> {
+                var content = searchQueryRepository.findAll(entityClass, search, searchRequest, pageable, 0, fetchGraph);
+                var total = searchCountService.estimate(entityClass, searchRequest,
+                        () -> searchQueryRepository.count(search, searchRequest));
+                yield new PageImpl<>(content, pageable, total).map(mapper::entityToDTO);
+            }
+        });
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<? extends EnumDTO<?>> getEnumValues(String enumName) {
-
-        try {
-            Class<?> enumClass = ENUM_CACHE.get(enumName);
-
-            if (enumClass == null) {
-                String basePackage = "com.tnh.baseware.core.enums";
-
-                ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(
-                        false);
-
-                scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
-
-                for (BeanDefinition bd : scanner.findCandidateComponents(basePackage)) {
-                    Class<?> clazz = Class.forName(bd.getBeanClassName());
+    public Page<Map<String, Object>> searchProjected(SearchRequest searchRequest) {
+        var pageable = GenericSpecification.getPageable(searchRequest.getPage(), searchRequest.getSize());
+        return project(new GenericSpecification<>(searchRequest), searchRequest.getFields(), pageable,
+                Objects.requireNonNullElse(searchRequest.getCount(), CountPolicy.EXACT), searchRequest);
+    }
 
-                    if (clazz.isEnum()
-                            && BaseEnum.class.isAssignableFrom(clazz)
-                            && clazz.getSimpleName().equals(enumName)) {
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<D> searchByCursor(SearchRequest searchRequest) {
+        var request = Objects.requireNonNullElseGet(searchRequest, SearchRequest::new);
+        return seek(new GenericSpecification<>(request), request.getCursor(), request.getSize());
+    }
 
-                        enumClass = clazz;
-                        break;
-                    }
-                }
+    @Override
+    @Transactional(readOnly = true)
+    public List<? extends EnumDTO<?>> getEnumValues(String enumName) {
 
-                ENUM_CACHE.put(enumName, Objects.requireNonNullElse(enumClass, Void.class));
-            }
+        try {
+            var enumClass = ENUM_CACHE.computeIfAbsent(enumName, name -> ClassIndex.enums().stream()
+                    .filter(type -> type.getSimpleName().equals(name))
+                    .findFirst()
+                    .orElse(Void.class));
 
             if (enumClass == null || enumClass == Void.class) {
                 throw new BWCNotFoundException(
@@ -249,10 +466,9 @@ public abstract class GenericService<E, F, D, R extends IGenericRepository<E, I>
                                 enumName));
             }
 
-            Object[] constants = enumClass.getEnumConstants();
-
-            return Arrays.stream(constants)
-                    .map(e -> {
+            // constants never change at runtime, so the reflective displayName lookup runs once per enum
+            return ENUM_VALUES.computeIfAbsent(enumClass, type -> Arrays.stream(type.getEnumConstants())
+                    .<EnumDTO<?>>map(e -> {
                         BaseEnum<?> baseEnum = (BaseEnum<?>) e;
                         String displayName = extractDisplayName(e, enumName);
                         return new EnumDTO<>(
@@ -260,7 +476,7 @@ public abstract class GenericService<E, F, D, R extends IGenericRepository<E, I>
                                 ((Enum<?>) e).name(),
                                 displayName);
                     })
-                    .toList();
+                    .toList());
 
         } catch (Exception e) {
             log.debug("Error retrieving enum values: {}", e.getMessage(), e);
@@ -282,7 +498,14 @@ public abstract class GenericService<E, F, D, R extends IGenericRepository<E, I>
                 || !(auth.getPrincipal() instanceof CustomUserDetails userDetails)) {
             throw new BWCGenericRuntimeException(messageService.getMessage("user.not.authenticated"));
         }
-        return userDetails.getUser();
+        if (userDetails.getUser() != null) return userDetails.getUser();
+
+        // requests authenticate with a cached principal, so the entity is only loaded when a service needs it
+        var user = entityManager.find(User.class, userDetails.getId());
+        if (user == null) {
+            throw new BWCNotFoundException(messageService.getMessage("user.not.found", userDetails.getUsername()));
+        }
+        return user;
     }
 
     @Override
@@ -294,14 +517,7 @@ public abstract class GenericService<E, F, D, R extends IGenericRepository<E, I>
                 || !(auth.getPrincipal() instanceof CustomUserDetails userDetails)) {
             throw new BWCGenericRuntimeException(messageService.getMessage("user.not.authenticated"));
         }
-        var user = userDetails.getUser();
-        if (user.getSuperAdmin())
-            return true;
-        var orgSys = user.getOrganizations().stream()
-                .filter(org -> Boolean.TRUE.equals(org.getOrganization().getIsSystem()))
-                .findFirst().orElse(null);
-
-        return orgSys != null;
+        return userDetails.isSuperAdmin() || userDetails.isSystem();
     }
 
     private String extractDisplayName(Object enumConstant, String enumName) {
@@ -315,6 +531,279 @@ public abstract class GenericService<E, F, D, R extends IGenericRepository<E, I>
         }
     }
 
+    /**
+     * Writes items in transactions of {@code batchSize}, each flushed once so Hibernate sends its
+     * inserts and updates as JDBC batches. Invalid items are reported without being written; a batch
+     * that fails is rolled back and replayed one item per transaction, so only the failing items are
+     * lost. Items go through {@link #create} and {@link #update}, keeping service-specific mapping.
+     */
+    private <T> BulkResultDTO<I> bulk(List<T> items, Function<T, I> idOf, Consumer<List<T>> prepare, Function<T, D> write) {
+        var bulk = systemProperties.getBulk();
+        if (items == null || items.isEmpty()) {
+            return BulkResultDTO.<I>builder().ids(List.of()).failures(List.of()).build();
+        }
+        if (items.size() > bulk.getMaxItems()) {
+            throw new BWCValidationException(messageService.getMessage("bulk.too.large"));
+        }
+
+        var failures = new ArrayList<BulkFailureDTO>();
+        var valid = new ArrayList<Integer>(items.size());
+        for (var index = 0; index < items.size(); index++) {
+            var item = items.get(index);
+            if (item == null) {
+                failures.add(failure(index, null, messageService.getMessage("bulk.item.failed")));
+                continue;
+            }
+            var violations = validator.validate(item);
+            if (violations.isEmpty()) {
+                valid.add(index);
+            } else {
+                failures.add(failure(index, idOf.apply(item), violations.stream()
+                        .map(v -> BasewareUtils.toSnakeCase(v.getPropertyPath().toString()) + ": " + v.getMessage())
+                        .collect(Collectors.joining("; "))));
+            }
+        }
+
+        var transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        var ids = new ArrayList<I>(valid.size());
+        for (var batch : Lists.partition(valid, Math.max(bulk.getBatchSize(), 1))) {
+            try {
+                ids.addAll(transaction.execute(status -> writeBatch(items, batch, prepare, write)));
+            } catch (RuntimeException e) {
+                log.warn(LogStyleHelper.warn("Bulk batch of {} {} failed, retrying item by item: {}"),
+                        batch.size(), entityClass.getSimpleName(), e.getMessage());
+                for (var index : batch) {
+                    try {
+                        ids.addAll(transaction.execute(status -> writeBatch(items, List.of(index), prepare, write)));
+                    } catch (RuntimeException itemError) {
+                        failures.add(failure(index, idOf.apply(items.get(index)), itemError));
+                    }
+                }
+            }
+        }
+
+        failures.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return BulkResultDTO.<I>builder()
+                .requested(items.size())
+                .succeeded(items.size() - failures.size())
+                .ids(ids)
+                .failures(failures)
+                .build();
+    }
+
+    private <T> List<I> writeBatch(List<T> items, List<Integer> batch, Consumer<List<T>> prepare, Function<T, D> write) {
+        var batchItems = batch.stream().map(items::get).toList();
+        prepare.accept(batchItems);
+        var written = batchItems.stream().map(write).toList();
+        entityManager.flush();
+        entityManager.clear();
+        return written.stream()
+                .map(this::idOf)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private I idOf(D dto) {
+        return dto instanceof Identifiable<?> identifiable ? (I) identifiable.getId() : null;
+    }
+
+    private BulkFailureDTO failure(int index, Object id, RuntimeException e) {
+        if (e instanceof BasewareCoreException) return failure(index, id, e.getMessage());
+
+        log.error(LogStyleHelper.error("Bulk item {} of {} failed: {}"), index, entityClass.getSimpleName(), e.getMessage());
+        return failure(index, id, messageService.getMessage("bulk.item.failed"));
+    }
+
+    private static BulkFailureDTO failure(int index, Object id, String message) {
+        return BulkFailureDTO.builder().index(index).id(id).message(message).build();
+    }
+
+    /**
+     * Set-based soft delete and restore: one UPDATE per chunk of ids, with the audit columns set in
+     * the same statement, instead of loading and saving every entity.
+     */
+    private int markDeleted(List<I> ids, boolean deleted) {
+        if (!Auditable.class.isAssignableFrom(entityClass)) {
+            throw new BWCGenericRuntimeException("Entity not support soft delete");
+        }
+        if (ids == null || ids.isEmpty()) return 0;
+
+        // bulk DML skips the Hibernate events versions and the second-level cache otherwise listen to
+        entityVersionService.changed(entityClass);
+        secondLevelCacheSynchronizer.changed(entityClass);
+        entityManager.flush();
+        var cb = entityManager.getCriteriaBuilder();
+        var auditor = auditorAware.getCurrentAuditor().orElse(null);
+        var now = Instant.now();
+        var updated = 0;
+        for (var chunk : Lists.partition(ids, IN_CHUNK_SIZE)) {
+            var update = cb.createCriteriaUpdate(entityClass);
+            var root = update.from(entityClass);
+            update.set(root.<Boolean>get("deleted"), deleted)
+                    .set(root.<Instant>get("modifiedDate"), now)
+                    .set(root.get("modifiedBy"), auditor)
+                    .where(root.get("id").in(chunk), cb.notEqual(root.get("deleted"), deleted));
+            updated += entityManager.createQuery(update).executeUpdate();
+        }
+        entityManager.clear();
+        return updated;
+    }
+
+    /**
+     * Keyset scan over {@code (createdDate, id)} descending: the cursor becomes a range predicate, one
+     * extra row is fetched to detect the next page, and no count query runs. Any {@link Auditable}
+     * entity qualifies. The size is clamped to the configured maximum page size.
+     */
+    private CursorPage<D> seek(Specification<E> specification, String cursor, Integer size) {
+        if (!Auditable.class.isAssignableFrom(entityClass)) {
+            throw new BWCValidationException(messageService.getMessage("pagination.cursor.unsupported"));
+        }
+
+        var maxPageSize = springDataWebProperties.getPageable().getMaxPageSize();
+        var limit = Math.clamp(Objects.requireNonNullElse(size, DEFAULT_PAGE_SIZE), 1, maxPageSize);
+        var filtered = cursor == null || cursor.isBlank() ? specification : specification.and(after(cursor));
+        var rows = repository.findBy(filtered, query -> fetching(query).sortBy(KEYSET_SORT).limit(limit + 1).all());
+
+        var hasNext = rows.size() > limit;
+        var page = hasNext ? rows.subList(0, limit) : rows;
+        var nextCursor = hasNext ? cursorOf(page.getLast()).encode() : null;
+        return new CursorPage<>(page.stream().map(mapper::entityToDTO).toList(), limit, nextCursor);
+    }
+
+    private Specification<E> after(String token) {
+        var cursor = decodeCursor(token);
+        var id = decodeCursorId(cursor);
+        return (root, query, cb) -> {
+            Path<Instant> createdDate = root.get("createdDate");
+            Path<Comparable<Object>> idPath = root.get("id");
+            @SuppressWarnings("unchecked")
+            var idValue = (Comparable<Object>) id;
+            return cb.or(cb.lessThan(createdDate, cursor.createdDate()),
+                    cb.and(cb.equal(createdDate, cursor.createdDate()), cb.lessThan(idPath, idValue)));
+        };
+    }
+
+    /**
+     * Sparse-fieldset variant of a paged read: selects only the requested columns instead of
+     * hydrating entities and mapping them to DTOs, honouring the same count policies as search.
+     */
+    private Page<Map<String, Object>> project(Specification<E> specification,
+                                              List<String> fields,
+                                              Pageable pageable,
+                                              CountPolicy countPolicy,
+                                              SearchRequest searchRequest) {
+        List<String> paths;
+        try {
+            paths = projectionRepository.resolve(entityClass, getDtoClass(), fields);
+        } catch (IllegalArgumentException e) {
+            throw new BWCValidationException(messageService.getMessage("fields.invalid"), e);
+        }
+
+        var extra = countPolicy == CountPolicy.NONE ? 1 : 0;
+        var rows = projectionRepository.findAll(entityClass, paths, specification, pageable, extra);
+        return switch (countPolicy) {
+            case EXACT -> new PageImpl<>(rows, pageable, projectionRepository.count(entityClass, specification));
+            case NONE -> {
+                var hasNext = rows.size() > pageable.getPageSize();
+                var content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+                yield new PageImpl<>(content, pageable, pageable.getOffset() + content.size() + (hasNext ? 1 : 0));
+            }
+            case ESTIMATED -> new PageImpl<>(rows, pageable, searchCountService.estimate(entityClass, searchRequest,
+                    () -> projectionRepository.count(entityClass, specification)));
+        };
+    }
+
+    /**
+     * Projections read rows straight from the table, so they only stand in for the generic paged
+     * read. A service that overrides it, e.g. to return a tree, would otherwise answer flat rows
+     * whenever fields are requested; such reads refuse sparse fieldsets instead.
+     */
+    private void requireGenericRead(String method) {
+        var read = ReflectionUtils.findMethod(getClass(), method, Pageable.class);
+        if (read != null && read.getDeclaringClass() != GenericService.class) {
+            throw new BWCValidationException(messageService.getMessage("fields.unsupported"));
+        }
+    }
+
+    private Class<?> getDtoClass() {
+        if (dtoClass == null) {
+            var arguments = GenericTypeResolver.resolveTypeArguments(getClass(), GenericService.class);
+            dtoClass = arguments != null && arguments[2] != null ? arguments[2] : Object.class;
+        }
+        return dtoClass;
+    }
+
+    private List<D> cachedList(String method, Object request, Supplier<List<D>> loader) {
+        if (!resultCacheService.isCached(entityClass)) return loader.get();
+        return resultCacheService.list(entityClass, getDtoClass(), method, request, loader);
+    }
+
+    private Page<D> cachedPage(String method, Object request, Pageable pageable, Supplier<Page<D>> loader) {
+        if (!resultCacheService.isCached(entityClass)) return loader.get();
+        return resultCacheService.page(entityClass, getDtoClass(), method, request, pageable, loader);
+    }
+
+    private List<E> readAll(Specification<E> specification, Sort sort) {
+        return repository.findBy(specification, query -> fetching(query).sortBy(sort).all());
+    }
+
+    private Page<E> readPage(Specification<E> specification, Pageable pageable) {
+        return repository.findBy(specification, query -> fetching(query).page(pageable));
+    }
+
+    /**
+     * Applies the service's fetch plan as a fetch graph, so the associations the DTO mapping reads
+     * are joined into the list query instead of being loaded per row.
+     */
+    private <S extends E> FluentQuery.FetchableFluentQuery<S> fetching(FluentQuery.FetchableFluentQuery<S> query) {
+        var plan = getFetchPlan();
+        return plan.isEmpty() ? query : query.project(plan);
+    }
+
+    private List<String> getFetchPlan() {
+        return fetchPlanResolver.resolve(getClass(), entityClass, getDtoClass());
+    }
+
+    private Specification<E> notDeleted() {
+        return (root, query, cb) -> cb.isFalse(root.get("deleted"));
+    }
+
+    private Specification<E> idIn(List<I> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    private KeysetCursor cursorOf(E entity) {
+        var id = entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+        return KeysetCursor.of(((Auditable<?>) entity).getCreatedDate(), id);
+    }
+
+    private KeysetCursor decodeCursor(String cursor) {
+        try {
+            return KeysetCursor.decode(cursor);
+        } catch (Exception e) {
+            throw new BWCValidationException(messageService.getMessage("pagination.cursor.invalid"), e);
+        }
+    }
+
+    /**
+     * A cursor is client input: an id that does not convert to the entity's id type is rejected like
+     * any other malformed cursor instead of failing the query.
+     */
+    private Object decodeCursorId(KeysetCursor cursor) {
+        Object id;
+        try {
+            id = cursor.idAs(entityManager.getMetamodel().entity(entityClass).getIdType().getJavaType());
+        } catch (Exception e) {
+            throw new BWCValidationException(messageService.getMessage("pagination.cursor.invalid"), e);
+        }
+        if (!(id instanceof Comparable<?>)) {
+            throw new BWCValidationException(messageService.getMessage("pagination.cursor.invalid"));
+        }
+        return id;
+    }
+
     private Sort getDefaultSort() {
         return Sort.by(Sort.Order.desc("createdDate"));
     }
@@ -1,15 +1,24 @@
 package com.tnh.baseware.core.services;
 
+import com.tnh.baseware.core.dtos.audit.BulkResultDTO;
 import com.tnh.baseware.core.dtos.audit.EnumDTO;
 import com.tnh.baseware.core.entities.user.User;
+import com.tnh.baseware.core.forms.audit.BulkUpdateForm;
+import com.tnh.baseware.core.specs.CursorPage;
 import com.tnh.baseware.core.specs.SearchRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
 
 public interface IGenericService<E, F, D, I> {
 
+    Class<E> getEntityClass();
+
     D create(F f);
 
     D update(I id, F f);
@@ -22,20 +31,40 @@ public interface IGenericService<E, F, D, I> {
 
     void softDeleteAllByIds(List<I> ids);
 
+    BulkResultDTO<I> createAll(List<F> forms);
+
+    BulkResultDTO<I> updateAll(List<BulkUpdateForm<I, F>> forms);
+
+    int softDeleteAll(List<I> ids);
+
+    int restoreAll(List<I> ids);
+
     D findById(I id);
 
     D safeFindById(I id);
 
+    Optional<Instant> findModifiedDate(I id);
+
+    OptionalLong currentVersion();
+
     E getReferenceById(I id);
 
     List<D> findAll();
 
     Page<D> findAll(Pageable pageable);
 
+    CursorPage<D> findAll(String cursor, Integer size);
+
+    Page<Map<String, Object>> findAll(Pageable pageable, List<String> fields);
+
     List<D> findAllActive();
 
     Page<D> findAllActive(Pageable pageable);
 
+    CursorPage<D> findAllActive(String cursor, Integer size);
+
+    Page<Map<String, Object>> findAllActive(Pageable pageable, List<String> fields);
+
     List<D> findAllByIds(List<I> ids);
 
     Page<D> findAllByIds(List<I> ids, Pageable pageable);
@@ -54,6 +83,10 @@ public interface IGenericService<E, F, D, I> {
 
     Page<D> search(SearchRequest searchRequest);
 
+    CursorPage<D> searchByCursor(SearchRequest searchRequest);
+
+    Page<Map<String, Object>> searchProjected(SearchRequest searchRequest);
+
     List<? extends EnumDTO<?>> getEnumValues(String enumName);
 
     User getCurrentUser();
@@ -0,0 +1,161 @@
+package com.tnh.baseware.core.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tnh.baseware.core.annotations.ResultCache;
+import com.tnh.baseware.core.properties.SystemProperties;
+import com.tnh.baseware.core.utils.BasewareUtils;
+import com.tnh.baseware.core.utils.LogStyleHelper;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caches list, page and search results of {@link ResultCache} services in Redis. Keys combine the
+ * entity type, its current {@link EntityVersionService version} and those of the types its DTOs
+ * embed, the read operation and a hash of the normalized request; writes advance the version after
+ * commit, so every result read before the write stops being addressed at once and simply expires. Results are only read and written
+ * outside of write transactions, which keeps uncommitted rows out of the cache.
+ */
+@Slf4j
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ResultCacheService implements SmartInitializingSingleton {
+
+    RedisTemplate<String, Object> redisTemplate;
+    ObjectMapper objectMapper;
+    ListableBeanFactory beanFactory;
+    EntityVersionService entityVersionService;
+    SystemProperties.ResultCache properties;
+    // cached entity type -> the entity types its results are built from, itself first
+    Map<Class<?>, List<Class<?>>> cachedEntities = new ConcurrentHashMap<>();
+
+    public ResultCacheService(RedisTemplate<String, Object> redisTemplate,
+                              ObjectMapper objectMapper,
+                              ListableBeanFactory beanFactory,
+                              EntityVersionService entityVersionService,
+                              SystemProperties systemProperties) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.beanFactory = beanFactory;
+        this.entityVersionService = entityVersionService;
+        this.properties = systemProperties.getResultCache();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isEnabled()) return;
+
+        for (var service : beanFactory.getBeansOfType(GenericService.class).values()) {
+            var resultCache = AnnotationUtils.findAnnotation(AopUtils.getTargetClass(service), ResultCache.class);
+            if (resultCache != null) {
+                var entityClass = service.getEntityClass();
+                var types = new ArrayList<Class<?>>();
+                types.add(entityClass);
+                types.addAll(List.of(resultCache.dependsOn()));
+                cachedEntities.put(entityClass, List.copyOf(types));
+            }
+        }
+        log.info(LogStyleHelper.info("Result cache enabled for {} entity type(s)"), cachedEntities.size());
+    }
+
+    public boolean isCached(Class<?> entityClass) {
+        return cachedEntities.containsKey(entityClass);
+    }
+
+    /**
+     * The entity types whose versions address cached results of {@code entityClass}, itself first.
+     */
+    public List<Class<?>> versionedTypes(Class<?> entityClass) {
+        return cachedEntities.getOrDefault(entityClass, List.of());
+    }
+
+    public <T> List<T> list(Class<?> entityClass, Class<?> dtoClass, String operation, Object request,
+                            Supplier<List<T>> loader) {
+        var key = key(entityClass, operation, request);
+        if (key == null) return loader.get();
+
+        CachedResult<T> cached = read(key, dtoClass);
+        if (cached != null) return cached.content();
+
+        var content = loader.get();
+        write(key, new CachedResult<>(content.size(), content));
+        return content;
+    }
+
+    public <T> Page<T> page(Class<?> entityClass, Class<?> dtoClass, String operation, Object request,
+                            Pageable pageable, Supplier<Page<T>> loader) {
+        var key = key(entityClass, operation, request);
+        if (key == null) return loader.get();
+
+        CachedResult<T> cached = read(key, dtoClass);
+        if (cached != null) return new PageImpl<>(cached.content(), pageable, cached.total());
+
+        var page = loader.get();
+        write(key, new CachedResult<>(page.getTotalElements(), page.getContent()));
+        return page;
+    }
+
+    private String key(Class<?> entityClass, String operation, Object request) {
+        if (!isCached(entityClass)) return null;
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) return null;
+
+        try {
+            var key = new StringBuilder(properties.getPrefix()).append(entityClass.getName());
+            for (var type : versionedTypes(entityClass)) {
+                var version = entityVersionService.current(type);
+                if (version.isEmpty()) return null;
+                key.append(':').append(version.getAsLong());
+            }
+
+            var fingerprint = BasewareUtils.sha256Hex(objectMapper.writeValueAsString(request));
+            return key.append(':').append(operation).append(':').append(fingerprint).toString();
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error resolving result cache key for {}: {}"),
+                    entityClass.getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> CachedResult<T> read(String key, Class<?> dtoClass) {
+        try {
+            var json = (String) redisTemplate.opsForValue().get(key);
+            if (json == null) return null;
+
+            var type = objectMapper.getTypeFactory().constructParametricType(CachedResult.class, dtoClass);
+            return objectMapper.readValue(json, type);
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error reading cached result {}: {}"), key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(String key, CachedResult<?> result) {
+        try {
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(result),
+                    properties.getTtl(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error writing cached result {}: {}"), key, e.getMessage());
+        }
+    }
+
+    public record CachedResult<T>(long total, List<T> content) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.tnh.baseware.core.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tnh.baseware.core.properties.SystemProperties;
+import com.tnh.baseware.core.specs.SearchRequest;
+import com.tnh.baseware.core.utils.BasewareUtils;
+import com.tnh.baseware.core.utils.LogStyleHelper;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Supplies totals for {@link com.tnh.baseware.core.specs.CountPolicy#ESTIMATED} searches.
+ * Unfiltered searches read {@code pg_class.reltuples}, which the planner keeps current through
+ * autovacuum; filtered searches run the exact count once and reuse it until the TTL expires.
+ */
+@Slf4j
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class SearchCountService {
+
+    JdbcTemplate jdbcTemplate;
+    EntityManagerFactory entityManagerFactory;
+    ObjectMapper objectMapper;
+    Cache<String, Long> counts;
+    Map<Class<?>, String> tableNames = new ConcurrentHashMap<>();
+
+    public SearchCountService(JdbcTemplate jdbcTemplate,
+                              EntityManagerFactory entityManagerFactory,
+                              ObjectMapper objectMapper,
+                              SystemProperties systemProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.objectMapper = objectMapper;
+        var properties = systemProperties.getSearch();
+        this.counts = CacheBuilder.newBuilder()
+                .maximumSize(properties.getCountCacheMaxSize())
+                .expireAfterWrite(properties.getCountCacheTtl(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    public long estimate(Class<?> entityClass, SearchRequest searchRequest, LongSupplier exactCount) {
+        if (searchRequest.getFilters().isEmpty()) {
+            var estimate = plannerEstimate(entityClass);
+            if (estimate > 0) return estimate;
+        }
+
+        var key = cacheKey(entityClass, searchRequest);
+        var cached = counts.getIfPresent(key);
+        if (cached != null) return cached;
+
+        var count = exactCount.getAsLong();
+        counts.put(key, count);
+        return count;
+    }
+
+    private long plannerEstimate(Class<?> entityClass) {
+        var table = tableNames.computeIfAbsent(entityClass, this::tableName);
+        if (table.isEmpty()) return -1;
+
+        try {
+            var estimate = jdbcTemplate.queryForObject(
+                    "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, table);
+            return estimate != null ? estimate : -1;
+        } catch (Exception e) {
+            log.debug(LogStyleHelper.debug("No planner estimate for {}: {}"), table, e.getMessage());
+            return -1;
+        }
+    }
+
+    private String tableName(Class<?> entityClass) {
+        var descriptor = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass);
+        return descriptor instanceof AbstractEntityPersister persister ? persister.getTableName() : "";
+    }
+
+    private String cacheKey(Class<?> entityClass, SearchRequest searchRequest) {
+        try {
+            return entityClass.getName() + ":" + BasewareUtils.sha256Hex(objectMapper.writeValueAsString(searchRequest.getFilters()));
+        } catch (Exception e) {
+            return entityClass.getName() + ":" + searchRequest.getFilters().hashCode();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.tnh.baseware.core.services.adu.imp;
 
+import com.tnh.baseware.core.annotations.ResultCache;
 import com.tnh.baseware.core.dtos.adu.CountryDTO;
 import com.tnh.baseware.core.entities.adu.Country;
 import com.tnh.baseware.core.forms.adu.CountryEditorForm;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Service;
 import java.util.UUID;
 
 @Service
+@ResultCache
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class CountryService extends
         GenericService<Country, CountryEditorForm, CountryDTO, ICountryRepository, ICountryMapper, UUID>
@@ -7,6 +7,7 @@ import com.tnh.baseware.core.entities.user.User;
 import com.tnh.baseware.core.entities.user.UserOrganization;
 import com.tnh.baseware.core.enums.CategoryCode;
 import com.tnh.baseware.core.enums.TitleDefault;
+import com.tnh.baseware.core.events.type.PrincipalChangedEvent;
 import com.tnh.baseware.core.exceptions.BWCNotFoundException;
 import com.tnh.baseware.core.forms.adu.OrganizationEditorForm;
 import com.tnh.baseware.core.forms.user.AssignUserEditorForm;
@@ -21,6 +22,7 @@ import com.tnh.baseware.core.services.adu.IOrganizationService;
 import com.tnh.baseware.core.utils.BasewareUtils;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
@@ -40,17 +42,20 @@ public class OrganizationService extends
         IUserRepository userRepository;
         IUserOrganizationRepository userOrganizationRepository;
         ICategoryRepository categoryRepository;
+        ApplicationEventPublisher eventPublisher;
 
         public OrganizationService(IOrganizationRepository repository,
                         IOrganizationMapper mapper,
                         MessageService messageService,
                         IUserRepository userRepository,
                         IUserOrganizationRepository userOrganizationRepository,
-                        ICategoryRepository categoryRepository) {
+                        ICategoryRepository categoryRepository,
+                        ApplicationEventPublisher eventPublisher) {
                 super(repository, mapper, messageService, Organization.class);
                 this.userRepository = userRepository;
                 this.userOrganizationRepository = userOrganizationRepository;
                 this.categoryRepository = categoryRepository;
+                this.eventPublisher = eventPublisher;
         }
 
         @Override
@@ -201,6 +206,12 @@ public class OrganizationService extends
 
                 if (!toSave.isEmpty()) {
                         userOrganizationRepository.saveAll(toSave);
+
+                        // membership of a system organization is part of the cached principal
+                        if (Boolean.TRUE.equals(organization.getIsSystem())) {
+                                toSave.forEach(uo -> eventPublisher.publishEvent(
+                                                new PrincipalChangedEvent(uo.getUser().getId(), uo.getUser().getUsername())));
+                        }
                 }
         }
 
@@ -226,6 +237,10 @@ public class OrganizationService extends
                         throw new BWCNotFoundException(
                                         messageService.getMessage("users.not.in.organization"));
                 }
+
+                // membership of a system organization is part of the cached principal
+                userRepository.findAllById(userIds).forEach(user -> eventPublisher.publishEvent(
+                                new PrincipalChangedEvent(user.getId(), user.getUsername())));
         }
 
         @Override
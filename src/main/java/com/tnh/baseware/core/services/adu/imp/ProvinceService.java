@@ -1,5 +1,6 @@
 package com.tnh.baseware.core.services.adu.imp;
 
+import com.tnh.baseware.core.annotations.ResultCache;
 import com.tnh.baseware.core.dtos.adu.ProvinceDTO;
 import com.tnh.baseware.core.entities.adu.Province;
 import com.tnh.baseware.core.forms.adu.ProvinceEditorForm;
@@ -19,6 +20,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Service
+@ResultCache
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class ProvinceService extends
         GenericService<Province, ProvinceEditorForm, ProvinceDTO, IProvinceRepository, IProvinceMapper, UUID>
@@ -2,10 +2,13 @@ package com.tnh.baseware.core.services.audit;
 
 import com.tnh.baseware.core.dtos.audit.TrackActivityDTO;
 import com.tnh.baseware.core.dtos.audit.TrackActivityDetailDTO;
+import com.tnh.baseware.core.dtos.audit.TrackActivityRollupDTO;
 import com.tnh.baseware.core.entities.audit.TrackActivity;
 import com.tnh.baseware.core.forms.audit.TrackActivityEditorForm;
 import com.tnh.baseware.core.services.IGenericService;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 public interface ITrackActivityService
@@ -13,6 +16,8 @@ public interface ITrackActivityService
 
     TrackActivityDetailDTO getTrackActivityDetail(UUID id);
 
+    List<TrackActivityRollupDTO> getRollups(Instant from, Instant to, String username);
+
     void trackLogin(String ip, String device, String username);
 
     void trackLogout(String ip, String device, String username);
@@ -1,5 +1,6 @@
 package com.tnh.baseware.core.services.audit.imp;
 
+import com.tnh.baseware.core.annotations.ResultCache;
 import com.tnh.baseware.core.dtos.audit.CategoryDTO;
 import com.tnh.baseware.core.entities.audit.Category;
 import com.tnh.baseware.core.exceptions.BWCBusinessException;
@@ -18,6 +19,7 @@ import org.springframework.stereotype.Service;
 import java.util.UUID;
 
 @Service
+@ResultCache
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class CategoryService extends
         GenericService<Category, CategoryEditorForm, CategoryDTO, ICategoryRepository, ICategoryMapper, UUID>
@@ -1,7 +1,9 @@
 package com.tnh.baseware.core.services.audit.imp;
 
+import com.tnh.baseware.core.components.TrackActivityWriter;
 import com.tnh.baseware.core.dtos.audit.TrackActivityDTO;
 import com.tnh.baseware.core.dtos.audit.TrackActivityDetailDTO;
+import com.tnh.baseware.core.dtos.audit.TrackActivityRollupDTO;
 import com.tnh.baseware.core.entities.audit.TrackActivity;
 import com.tnh.baseware.core.exceptions.BWCNotFoundException;
 import com.tnh.baseware.core.forms.audit.TrackActivityEditorForm;
@@ -13,11 +15,12 @@ import com.tnh.baseware.core.services.MessageService;
 import com.tnh.baseware.core.services.audit.ITrackActivityService;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -28,13 +31,16 @@ public class TrackActivityService extends
         ITrackActivityService {
 
     SecurityProperties securityProperties;
+    ObjectProvider<TrackActivityWriter> trackActivityWriter;
 
     public TrackActivityService(ITrackActivityRepository repository,
                                 ITrackActivityMapper mapper,
                                 MessageService messageService,
-                                SecurityProperties securityProperties) {
+                                SecurityProperties securityProperties,
+                                ObjectProvider<TrackActivityWriter> trackActivityWriter) {
         super(repository, mapper, messageService, TrackActivity.class);
         this.securityProperties = securityProperties;
+        this.trackActivityWriter = trackActivityWriter;
     }
 
     @Override
@@ -46,10 +52,18 @@ public class TrackActivityService extends
     }
 
     @Override
-    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Transactional(readOnly = true)
+    public List<TrackActivityRollupDTO> getRollups(Instant from, Instant to, String username) {
+        return username == null || username.isBlank()
+                ? repository.getRollups(from, to)
+                : repository.getRollupsByUsername(from, to, username);
+    }
+
+    @Override
     public void trackLogin(String ip, String device, String username) {
         var trackActivity = TrackActivity.builder()
                 .requestUrl(securityProperties.getLogin().getUrlLogin())
+                .endpoint(securityProperties.getLogin().getUrlLogin())
                 .method("POST")
                 .status(200)
                 .ipAddress(ip)
@@ -59,14 +73,14 @@ public class TrackActivityService extends
                 .responsePayload(messageService.getMessage("track.activity.login"))
                 .build();
 
-        repository.save(trackActivity);
+        trackActivityWriter.ifAvailable(writer -> writer.write(trackActivity));
     }
 
     @Override
-    @Transactional(isolation = Isolation.READ_COMMITTED)
     public void trackLogout(String ip, String device, String username) {
         var trackActivity = TrackActivity.builder()
                 .requestUrl(securityProperties.getLogin().getUrlLogout())
+                .endpoint(securityProperties.getLogin().getUrlLogout())
                 .method("POST")
                 .status(200)
                 .ipAddress(ip)
@@ -76,14 +90,14 @@ public class TrackActivityService extends
                 .responsePayload(messageService.getMessage("track.activity.logout"))
                 .build();
 
-        repository.save(trackActivity);
+        trackActivityWriter.ifAvailable(writer -> writer.write(trackActivity));
     }
 
     @Override
-    @Transactional(isolation = Isolation.READ_COMMITTED)
     public void trackRefreshToken(String ip, String device, String username) {
         var trackActivity = TrackActivity.builder()
                 .requestUrl(securityProperties.getLogin().getUrlRefreshToken())
+                .endpoint(securityProperties.getLogin().getUrlRefreshToken())
                 .method("POST")
                 .status(200)
                 .ipAddress(ip)
@@ -93,6 +107,6 @@ public class TrackActivityService extends
                 .responsePayload(messageService.getMessage("track.activity.refresh.token"))
                 .build();
 
-        repository.save(trackActivity);
+        trackActivityWriter.ifAvailable(writer -> writer.write(trackActivity));
     }
 }
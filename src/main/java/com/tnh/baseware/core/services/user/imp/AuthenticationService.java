@@ -9,6 +9,7 @@ import com.tnh.baseware.core.forms.user.AuthenticationForm;
 import com.tnh.baseware.core.properties.SecurityProperties;
 import com.tnh.baseware.core.properties.SystemProperties;
 import com.tnh.baseware.core.securities.JwtTokenService;
+import com.tnh.baseware.core.securities.VerifiedToken;
 import com.tnh.baseware.core.services.MessageService;
 import com.tnh.baseware.core.services.audit.ITrackActivityService;
 import com.tnh.baseware.core.utils.BasewareUtils;
@@ -21,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -72,6 +74,8 @@ public class AuthenticationService {
                                 .orElseThrow(() -> new BWCInvalidTokenException(
                                                 messageService.getMessage("jwt.token.invalid")));
 
+                cachePrivileges(userDetails, sessionId);
+
                 if (systemProperties.isTrackingActive())
                         trackActivityService.trackLogin(request.getRemoteAddr(),
                                         BasewareUtils.getDevice(request.getHeader("User-Agent")),
@@ -94,26 +98,24 @@ public class AuthenticationService {
 
                 var refreshToken = authHeader.substring(7);
 
-                var username = jwtTokenService.extractUsername(refreshToken)
+                var verifiedToken = jwtTokenService.verifyToken(request, refreshToken)
+                                .filter(VerifiedToken::isUsable)
                                 .orElseThrow(() -> new BWCInvalidTokenException(
                                                 messageService.getMessage("jwt.token.invalid")));
 
+                var username = verifiedToken.username();
                 var userDetails = (CustomUserDetails) customUserDetailsService.loadUserByUsername(username);
-                if (!jwtTokenService.isTokenValid(refreshToken, userDetails)) {
+                if (!jwtTokenService.isTokenValid(verifiedToken, userDetails)) {
                         log.debug(LogStyleHelper.debug("Invalid token for user {}"), username);
                         throw new BWCInvalidTokenException(messageService.getMessage("jwt.token.invalid"));
                 }
 
-                var sessionId = jwtTokenService.extractSessionId(refreshToken)
-                                .orElseThrow(() -> new BWCInvalidTokenException(
-                                                messageService.getMessage("jwt.token.invalid")));
+                var sessionId = verifiedToken.sessionId();
 
                 if (!securityProperties.getJwt().isAllowMultipleDevices()) {
                         jwtTokenService.revokeAllValidAccessTokensByUser(userDetails.getUser().getId());
-                        privilegeCacheService.clearUserPrivilegeAsync(String.valueOf(userDetails.getUser().getId()), sessionId);
                 } else {
-                        jwtTokenService.revokeAllValidAccessTokensBySessionId(UUID.fromString(sessionId));
-                        privilegeCacheService.clearUserPrivilegeAsync(String.valueOf(userDetails.getUser().getId()));
+                        jwtTokenService.revokeAllValidAccessTokensBySessionId(username, UUID.fromString(sessionId));
                 }
 
                 var newAccessToken = jwtTokenService
@@ -121,7 +123,7 @@ public class AuthenticationService {
                                 .orElseThrow(() -> new BWCInvalidTokenException(
                                                 messageService.getMessage("jwt.token.invalid")));
 
-                privilegeCacheService.clearUserCache(String.valueOf(userDetails.getUser().getId()));
+                cachePrivileges(userDetails, UUID.fromString(sessionId));
                 log.debug(LogStyleHelper.debug("Token refreshed for user {}"), username);
 
                 if (systemProperties.isTrackingActive())
@@ -134,4 +136,18 @@ public class AuthenticationService {
                                 .refreshToken(refreshToken)
                                 .build();
         }
-}
\ No newline at end of file
+
+        // written once per login or refresh; requests only read it back
+        private void cachePrivileges(CustomUserDetails userDetails, UUID sessionId) {
+                var privileges = new PrivilegeCacheService.PrivilegeSet(userDetails.getRoleSet(),
+                                userDetails.getAuthorities().stream()
+                                                .map(GrantedAuthority::getAuthority)
+                                                .toList());
+
+                if (securityProperties.getJwt().isAllowMultipleDevices()) {
+                        privilegeCacheService.cachePrivileges(String.valueOf(userDetails.getId()), String.valueOf(sessionId), privileges);
+                } else {
+                        privilegeCacheService.cachePrivileges(String.valueOf(userDetails.getId()), privileges);
+                }
+        }
+}
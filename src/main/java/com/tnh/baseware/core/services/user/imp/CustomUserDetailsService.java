@@ -2,6 +2,7 @@ package com.tnh.baseware.core.services.user.imp;
 
 import com.tnh.baseware.core.entities.user.CustomUserDetails;
 import com.tnh.baseware.core.entities.user.User;
+import com.tnh.baseware.core.entities.user.UserPrincipal;
 import com.tnh.baseware.core.exceptions.BWCNotFoundException;
 import com.tnh.baseware.core.repositories.user.IUserRepository;
 import com.tnh.baseware.core.services.MessageService;
@@ -20,6 +21,7 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     IUserRepository userRepository;
     MessageService messageService;
+    PrincipalCacheService principalCacheService;
 
     @Override
     @Transactional(readOnly = true)
@@ -32,4 +34,23 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .build();
         return userDetails;
     }
+
+    /**
+     * Resolves the principal of an authenticated request from the snapshot cache, falling back to a
+     * single fetch-joined query on a miss. Unlike {@link #loadUserByUsername} the result carries no
+     * {@link User} entity.
+     */
+    public CustomUserDetails loadPrincipalByUsername(String username) {
+        var principal = principalCacheService.get(username).orElseGet(() -> {
+            // read the version before loading so a concurrent role change makes this snapshot stale
+            var version = principalCacheService.getVersion();
+            var user = userRepository.findWithAuthoritiesByUsername(username)
+                    .orElseThrow(() -> new BWCNotFoundException(messageService.getMessage("user.not.found", username)));
+
+            var snapshot = UserPrincipal.of(user, version);
+            principalCacheService.put(snapshot);
+            return snapshot;
+        });
+        return CustomUserDetails.of(principal);
+    }
 }
@@ -1,7 +1,10 @@
 package com.tnh.baseware.core.services.user.imp;
 
+import com.tnh.baseware.core.annotations.FetchPlan;
+import com.tnh.baseware.core.annotations.ResultCache;
 import com.tnh.baseware.core.components.GenericEntityFetcher;
 import com.tnh.baseware.core.dtos.user.MenuDTO;
+import com.tnh.baseware.core.entities.audit.Category;
 import com.tnh.baseware.core.entities.user.Menu;
 import com.tnh.baseware.core.exceptions.BWCNotFoundException;
 import com.tnh.baseware.core.forms.user.MenuEditorForm;
@@ -25,6 +28,8 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
+@ResultCache(dependsOn = Category.class)
+@FetchPlan({"menuType", "parent", "parent.menuType"})
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class MenuService extends
         GenericService<Menu, MenuEditorForm, MenuDTO, IMenuRepository, IMenuMapper, UUID> implements
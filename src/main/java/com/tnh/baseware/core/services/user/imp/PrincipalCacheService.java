@@ -0,0 +1,154 @@
+package com.tnh.baseware.core.services.user.imp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tnh.baseware.core.entities.user.UserPrincipal;
+import com.tnh.baseware.core.properties.SecurityProperties;
+import com.tnh.baseware.core.utils.LogStyleHelper;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches {@link UserPrincipal} snapshots per username in process and in Redis. User mutations evict
+ * a single snapshot; role and privilege mutations bump the shared role-set version, which makes
+ * every snapshot built against an older version stale without touching them individually.
+ */
+@Slf4j
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class PrincipalCacheService implements MessageListener {
+
+    private static final String EVICT_ALL = "*";
+
+    RedisTemplate<String, Object> redisTemplate;
+    RedisMessageListenerContainer listenerContainer;
+    ObjectMapper objectMapper;
+    SecurityProperties.PrincipalCache properties;
+    Cache<String, UserPrincipal> localCache;
+    AtomicLong version = new AtomicLong();
+
+    public PrincipalCacheService(RedisTemplate<String, Object> redisTemplate,
+                                 RedisMessageListenerContainer listenerContainer,
+                                 ObjectMapper objectMapper,
+                                 SecurityProperties securityProperties) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.properties = securityProperties.getPrincipalCache();
+        this.localCache = CacheBuilder.newBuilder()
+                .maximumSize(properties.getLocalMaxSize())
+                .expireAfterWrite(properties.getLocalTtl(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(properties.getChannel()));
+        version.set(readVersion());
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public Optional<UserPrincipal> get(String username) {
+        var current = version.get();
+        var local = localCache.getIfPresent(username);
+        if (local != null && local.version() == current) return Optional.of(local);
+
+        var remote = readRemote(username).filter(principal -> principal.version() == current);
+        remote.ifPresent(principal -> localCache.put(username, principal));
+        return remote;
+    }
+
+    public void put(UserPrincipal principal) {
+        localCache.put(principal.username(), principal);
+        try {
+            redisTemplate.opsForValue().set(principalKey(principal.username()),
+                    objectMapper.writeValueAsString(principal), properties.getRedisTtl(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error writing principal {} to Redis: {}"), principal.username(), e.getMessage());
+        }
+    }
+
+    public void evict(String username) {
+        if (username == null) return;
+
+        localCache.invalidate(username);
+        try {
+            redisTemplate.delete(principalKey(username));
+            redisTemplate.convertAndSend(properties.getChannel(), username);
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error evicting principal {}: {}"), username, e.getMessage());
+        }
+    }
+
+    public void evictAll() {
+        localCache.invalidateAll();
+        try {
+            var next = redisTemplate.opsForValue().increment(versionKey());
+            if (next != null) version.set(next);
+            redisTemplate.convertAndSend(properties.getChannel(), EVICT_ALL);
+            log.debug(LogStyleHelper.debug("Advanced role-set version to {}"), next);
+        } catch (Exception e) {
+            // without Redis other nodes cannot be told, so at least this node stops trusting its snapshots
+            version.incrementAndGet();
+            log.warn(LogStyleHelper.warn("Error advancing role-set version: {}"), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        var payload = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (payload == null) return;
+
+        if (EVICT_ALL.equals(payload.toString())) {
+            version.set(readVersion());
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidate(payload.toString());
+        }
+    }
+
+    private Optional<UserPrincipal> readRemote(String username) {
+        try {
+            var json = (String) redisTemplate.opsForValue().get(principalKey(username));
+            if (json == null) return Optional.empty();
+            return Optional.of(objectMapper.readValue(json, UserPrincipal.class));
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error reading principal {} from Redis: {}"), username, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private long readVersion() {
+        try {
+            return redisTemplate.opsForValue().get(versionKey()) instanceof Number number ? number.longValue() : 0L;
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error reading role-set version: {}"), e.getMessage());
+            return version.get();
+        }
+    }
+
+    private String principalKey(String username) {
+        return properties.getPrefix() + "users:" + username;
+    }
+
+    private String versionKey() {
+        return properties.getPrefix() + "version";
+    }
+}
@@ -1,167 +1,273 @@
 package com.tnh.baseware.core.services.user.imp;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.tnh.baseware.core.entities.user.Privilege;
-import com.tnh.baseware.core.entities.user.Role;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.tnh.baseware.core.exceptions.BWCJsonProcessingException;
 import com.tnh.baseware.core.properties.SecurityProperties;
+import com.tnh.baseware.core.securities.PrivilegeMatcher;
+import com.tnh.baseware.core.utils.BasewareUtils;
 import com.tnh.baseware.core.utils.LogStyleHelper;
+import jakarta.annotation.PostConstruct;
 import lombok.AccessLevel;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.NonNull;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
-import java.util.regex.Pattern;
+import java.util.function.Supplier;
 
+/**
+ * Per-session privilege cache. Privilege sets are content-addressed by the hash of the sorted role
+ * ids ({@code <prefix>sets:<roleSet>}) and stored once however many users and sessions share them;
+ * each session only keeps a pointer to its set in the user's hash ({@code <prefix><userId>}).
+ * <p>
+ * Sets and pointers carry the role-set version of {@link PrincipalCacheService}, so a role or
+ * privilege change is a single version bump. Requests read through a local near-cache that keeps
+ * the compiled matcher next to the version, so a warm request touches neither Redis nor the JSON
+ * mapper.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
-public class PrivilegeCacheService {
+public class PrivilegeCacheService implements MessageListener {
 
-    private static final Map<String, Pattern> patternCache = new ConcurrentHashMap<>();
+    private static final String USER_FIELD = "*";
+    private static final String SETS = "sets:";
 
     RedisTemplate<String, Object> redisTemplate;
+    RedisMessageListenerContainer listenerContainer;
     ObjectMapper objectMapper;
     SecurityProperties securityProperties;
+    PrincipalCacheService principalCacheService;
+    Cache<Long, PrivilegeMatcher> matcherCache;
+    Cache<String, CachedPrivileges> nearCache;
+    Cache<String, CachedPrivileges> setCache;
 
-    private static boolean matchPattern(String apiPattern, String requestURI) {
-        var pattern = patternCache.computeIfAbsent(apiPattern, Pattern::compile);
-        return pattern.matcher(requestURI).matches();
+    public PrivilegeCacheService(RedisTemplate<String, Object> redisTemplate,
+                                 RedisMessageListenerContainer listenerContainer,
+                                 ObjectMapper objectMapper,
+                                 SecurityProperties securityProperties,
+                                 PrincipalCacheService principalCacheService) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.securityProperties = securityProperties;
+        this.principalCacheService = principalCacheService;
+        this.matcherCache = CacheBuilder.newBuilder()
+                .maximumSize(securityProperties.getPrivilege().getMatcherCacheSize())
+                .build();
+        this.nearCache = CacheBuilder.newBuilder()
+                .maximumSize(securityProperties.getPrivilege().getLocalMaxSize())
+                .expireAfterWrite(securityProperties.getPrivilege().getLocalTtl(), TimeUnit.MILLISECONDS)
+                .build();
+        this.setCache = CacheBuilder.newBuilder()
+                .maximumSize(securityProperties.getPrivilege().getMatcherCacheSize())
+                .expireAfterWrite(securityProperties.getPrivilege().getLocalTtl(), TimeUnit.MILLISECONDS)
+                .build();
     }
 
-    private static boolean matchPattern(String apiPattern, String requestMethod, String requestURI) {
-        var parts = apiPattern.split(":", 2);
-        if (parts.length != 2) return false;
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(securityProperties.getPrivilege().getChannel()));
+    }
+
+    public void cachePrivileges(String userId, PrivilegeSet privilegeSet) {
+        cachePrivileges(userId, null, privilegeSet);
+    }
 
-        var method = parts[0];
-        var urlPattern = parts[1];
+    public PrivilegeMatcher cachePrivileges(String userId, String sessionId, PrivilegeSet privilegeSet) {
+        var version = principalCacheService.getVersion();
+        var roleSet = privilegeSet.roleSet();
+        var privileges = List.copyOf(privilegeSet.privileges());
 
-        if (!method.equalsIgnoreCase(requestMethod)) return false;
+        write(securityProperties.getPrivilege().getPrefix() + SETS + roleSet, null, new PrivilegeEntry(version, privileges));
+        write(securityProperties.getPrivilege().getPrefix() + userId, field(sessionId), new PrivilegePointer(version, roleSet));
 
-        return matchPattern(urlPattern, requestURI);
+        var cached = new CachedPrivileges(version, getMatcher(privileges));
+        setCache.put(roleSet, cached);
+        nearCache.put(nearKey(userId, sessionId), cached);
+        return cached.matcher();
     }
 
-    public void cachePrivileges(String userId, List<String> privileges) {
-        var key = securityProperties.getPrivilege().getPrefix() + userId;
-        try {
-            var json = objectMapper.writeValueAsString(privileges);
-            redisTemplate.opsForValue().set(key, json, securityProperties.getPrivilege().getTtl(), TimeUnit.MILLISECONDS);
-        } catch (Exception e) {
-            log.error(LogStyleHelper.error("Error caching privileges for user {}"), userId);
-            throw new BWCJsonProcessingException("Error caching privileges for user " + userId, e);
+    /**
+     * Returns the matcher of a user's session. The near-cache answers while its version matches the
+     * current role-set version; otherwise the session's pointer is followed to the shared set, and
+     * if either is missing or stale the set is taken from {@code loader} and written back once.
+     */
+    public PrivilegeMatcher getMatcher(String userId, String sessionId, Supplier<PrivilegeSet> loader) {
+        var version = principalCacheService.getVersion();
+        var nearKey = nearKey(userId, sessionId);
+
+        var near = nearCache.getIfPresent(nearKey);
+        if (near != null && near.version() == version) return near.matcher();
+
+        var shared = read(securityProperties.getPrivilege().getPrefix() + userId, field(sessionId), PrivilegePointer.class)
+                .filter(pointer -> pointer.version() == version)
+                .flatMap(pointer -> getSet(pointer.roleSet(), version));
+        if (shared.isPresent()) {
+            nearCache.put(nearKey, shared.get());
+            return shared.get().matcher();
         }
+
+        var matcher = cachePrivileges(userId, sessionId, loader.get());
+        log.debug(LogStyleHelper.debug("Rebuilt privilege cache for user {}"), userId);
+        return matcher;
     }
 
-    public void cachePrivileges(String userId, String sessionId, List<String> privileges) {
-        var key = securityProperties.getPrivilege().getPrefix() + userId + ":" + sessionId;
-        try {
-            var json = objectMapper.writeValueAsString(privileges);
-            redisTemplate.opsForValue().set(key, json, securityProperties.getPrivilege().getTtl(), TimeUnit.MILLISECONDS);
-        } catch (Exception e) {
-            log.error(LogStyleHelper.error("Error caching privileges for user {} with session {}"), userId, sessionId);
-            throw new BWCJsonProcessingException("Error caching privileges for user " + userId, e);
-        }
+    /**
+     * Returns the compiled matcher of a privilege set. Users sharing a role set share one matcher,
+     * so compilation happens once per distinct set rather than once per request.
+     */
+    public PrivilegeMatcher getMatcher(List<String> privileges) {
+        var fingerprint = PrivilegeMatcher.fingerprint(privileges);
+        var cached = matcherCache.getIfPresent(fingerprint);
+        if (cached != null && cached.isCompiledFrom(privileges)) return cached;
+
+        var compiled = PrivilegeMatcher.compile(privileges);
+        matcherCache.put(fingerprint, compiled);
+        log.debug(LogStyleHelper.debug("Compiled privilege matcher for {} privilege(s)"), compiled.size());
+        return compiled;
+    }
+
+    @Async
+    public void clearUserPrivilegeAsync(String userId) {
+        clearUserCache(userId);
     }
 
-    public List<String> getPrivileges(String userId) {
-        var key = securityProperties.getPrivilege().getPrefix() + userId;
-        var json = (String) redisTemplate.opsForValue().get(key);
-        if (json == null) return Collections.emptyList();
+    @Async
+    public void clearUserPrivilegeAsync(String userId, String sessionId) {
+        clearUserCache(userId, sessionId);
+    }
 
+    public void clearUserCache(String userId) {
         try {
-            return objectMapper.readValue(json, new TypeReference<>() {
-            });
+            redisTemplate.delete(securityProperties.getPrivilege().getPrefix() + userId);
         } catch (Exception e) {
-            log.error(LogStyleHelper.error("Error reading privileges from cache for user {}"), userId);
-            return Collections.emptyList();
+            log.warn(LogStyleHelper.warn("Error clearing privilege cache for user {}: {}"), userId, e.getMessage());
         }
+        evictLocal(userId);
+        publish(userId);
     }
 
-    public List<String> getPrivileges(String userId, String sessionId) {
-        var key = securityProperties.getPrivilege().getPrefix() + userId + ":" + sessionId;
-        var json = (String) redisTemplate.opsForValue().get(key);
-        if (json == null) return Collections.emptyList();
-
+    public void clearUserCache(String userId, String sessionId) {
         try {
-            return objectMapper.readValue(json, new TypeReference<>() {
-            });
+            redisTemplate.opsForHash().delete(securityProperties.getPrivilege().getPrefix() + userId, field(sessionId));
         } catch (Exception e) {
-            log.error(LogStyleHelper.error("Error reading privileges from cache for user {} and session {}"), userId, sessionId);
-            return Collections.emptyList();
+            log.warn(LogStyleHelper.warn("Error clearing privilege cache for user {} and session {}: {}"), userId, sessionId, e.getMessage());
         }
+        evictLocal(userId);
+        publish(userId);
     }
 
-    public boolean hasPrivilege(String requestMethod, String requestURI, List<String> privileges) {
-        if (privileges == null || privileges.isEmpty()) return false;
+    public void clearPatternCache() {
+        matcherCache.invalidateAll();
+    }
 
-        var hasWildcard = privileges.stream()
-                .filter(p -> !p.contains(":"))
-                .anyMatch(p -> matchPattern(p, requestURI));
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        var userId = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (userId != null) evictLocal(userId.toString());
+    }
 
-        if (hasWildcard) return true;
+    @Async
+    @Scheduled(fixedDelayString = "${baseware.core.system.cache-pattern-clear-interval-ms}") // 2 hours
+    public void clearPatternCachePeriodically() {
+        clearPatternCache();
+        log.debug(LogStyleHelper.debug("Deleted pattern cache"));
+    }
+
+    private Optional<CachedPrivileges> getSet(String roleSet, long version) {
+        var local = setCache.getIfPresent(roleSet);
+        if (local != null && local.version() == version) return Optional.of(local);
 
-        return privileges.parallelStream()
-                .filter(pattern -> pattern.contains(":"))
-                .anyMatch(apiPattern -> matchPattern(apiPattern, requestMethod, requestURI));
+        var remote = read(securityProperties.getPrivilege().getPrefix() + SETS + roleSet, null, PrivilegeEntry.class)
+                .filter(entry -> entry.version() == version)
+                .map(entry -> new CachedPrivileges(version, getMatcher(entry.privileges())));
+        remote.ifPresent(cached -> setCache.put(roleSet, cached));
+        return remote;
     }
 
-    @Async
-    public void clearUserPrivilegeAsync(String userId) {
-        clearUserCache(userId);
+    private <T> Optional<T> read(String key, String field, Class<T> type) {
+        try {
+            var json = field == null
+                    ? redisTemplate.opsForValue().get(key)
+                    : redisTemplate.opsForHash().get(key, field);
+            if (json == null) return Optional.empty();
+            return Optional.of(objectMapper.readValue(json.toString(), type));
+        } catch (Exception e) {
+            log.error(LogStyleHelper.error("Error reading privileges from cache {}"), key);
+            return Optional.empty();
+        }
     }
 
-    @Async
-    public void clearUserPrivilegeAsync(String userId, String sessionId) {
-        clearUserCache(userId, sessionId);
+    private void write(String key, String field, Object value) {
+        var ttl = securityProperties.getPrivilege().getTtl();
+        try {
+            var json = objectMapper.writeValueAsString(value);
+            if (field == null) {
+                redisTemplate.opsForValue().set(key, json, ttl, TimeUnit.MILLISECONDS);
+            } else {
+                redisTemplate.opsForHash().put(key, field, json);
+                redisTemplate.expire(key, ttl, TimeUnit.MILLISECONDS);
+            }
+        } catch (JsonProcessingException e) {
+            log.error(LogStyleHelper.error("Error caching privileges {}"), key);
+            throw new BWCJsonProcessingException("Error caching privileges " + key, e);
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error writing privilege cache {}: {}"), key, e.getMessage());
+        }
     }
 
-    public void clearUserCache(String userId) {
-        var key = securityProperties.getPrivilege().getPrefix() + userId;
-        redisTemplate.delete(key);
+    private void evictLocal(String userId) {
+        var prefix = userId + ":";
+        nearCache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
     }
 
-    public void clearUserCache(String userId, String sessionId) {
-        var key = securityProperties.getPrivilege().getPrefix() + userId + ":" + sessionId;
-        redisTemplate.delete(key);
+    private void publish(String userId) {
+        try {
+            redisTemplate.convertAndSend(securityProperties.getPrivilege().getChannel(), userId);
+        } catch (Exception e) {
+            log.warn(LogStyleHelper.warn("Error publishing privilege eviction for user {}: {}"), userId, e.getMessage());
+        }
     }
 
-    public void clearPatternCache() {
-        patternCache.clear();
+    private static String field(String sessionId) {
+        return sessionId == null ? USER_FIELD : sessionId;
     }
 
-    public void invalidatePrivilegeCache(Privilege privilege) {
-        var users = privilege.getRoles().stream()
-                .filter(role -> role.getUsers() != null)
-                .flatMap(role -> role.getUsers().stream())
-                .toList();
+    private static String nearKey(String userId, String sessionId) {
+        return userId + ":" + field(sessionId);
+    }
 
-        users.forEach(user -> clearUserPrivilegeAsync(String.valueOf(user.getId())));
+    public record PrivilegeSet(String roleSet, Collection<String> privileges) {
 
-        clearPatternCache();
-        clearPatternCache();
-        log.debug(LogStyleHelper.debug("Deleted privilege cache for privilege {} - affected {} user(s)"), privilege.getId(), users.size());
+        public PrivilegeSet {
+            // principals cached before role sets existed are addressed by their content instead
+            if (roleSet == null) {
+                roleSet = BasewareUtils.sha256Hex(String.join(",", privileges.stream().sorted().toList()));
+            }
+        }
     }
 
-    public void invalidateAllUserPrivilegesByRole(Role role) {
-        if (role.getUsers() == null) return;
-        role.getUsers().forEach(user -> clearUserPrivilegeAsync(String.valueOf(user.getId())));
+    public record PrivilegeEntry(long version, List<String> privileges) {
     }
 
-    @Async
-    @Scheduled(fixedDelayString = "${baseware.core.system.cache-pattern-clear-interval-ms}") // 2 hours
-    public void clearPatternCachePeriodically() {
-        clearPatternCache();
-        log.debug(LogStyleHelper.debug("Deleted pattern cache"));
+    public record PrivilegePointer(long version, String roleSet) {
+    }
+
+    private record CachedPrivileges(long version, PrivilegeMatcher matcher) {
     }
-}
\ No newline at end of file
+}
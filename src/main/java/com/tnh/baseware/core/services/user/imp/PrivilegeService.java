@@ -1,7 +1,9 @@
 package com.tnh.baseware.core.services.user.imp;
 
+import com.tnh.baseware.core.annotations.ResultCache;
 import com.tnh.baseware.core.dtos.user.PrivilegeDTO;
 import com.tnh.baseware.core.entities.user.Privilege;
+import com.tnh.baseware.core.events.type.PrincipalChangedEvent;
 import com.tnh.baseware.core.exceptions.BWCNotFoundException;
 import com.tnh.baseware.core.forms.user.PrivilegeEditorForm;
 import com.tnh.baseware.core.mappers.user.IPrivilegeMapper;
@@ -13,6 +15,7 @@ import com.tnh.baseware.core.services.user.IPrivilegesService;
 import com.tnh.baseware.core.utils.PrivilegeExtractorUtils;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,23 +27,24 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
+@ResultCache
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class PrivilegeService extends GenericService<Privilege, PrivilegeEditorForm, PrivilegeDTO, IPrivilegeRepository, IPrivilegeMapper, UUID> implements IPrivilegesService {
 
-    PrivilegeCacheService privilegeCacheService;
     IRoleRepository roleRepository;
     IPrivilegeMapper privilegeMapper;
+    ApplicationEventPublisher eventPublisher;
 
     public PrivilegeService(IPrivilegeRepository repository,
                             IPrivilegeMapper mapper,
                             MessageService messageService,
-                            PrivilegeCacheService privilegeCacheService,
                             IRoleRepository roleRepository,
-                            IPrivilegeMapper privilegeMapper) {
+                            IPrivilegeMapper privilegeMapper,
+                            ApplicationEventPublisher eventPublisher) {
         super(repository, mapper, messageService, Privilege.class);
-        this.privilegeCacheService = privilegeCacheService;
         this.roleRepository = roleRepository;
         this.privilegeMapper = privilegeMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -51,7 +55,7 @@ public class PrivilegeService extends GenericService<Privilege, PrivilegeEditorF
         mapper.formToEntity(form, privilege);
 
         var privilegeNew = repository.save(privilege);
-        privilegeCacheService.invalidatePrivilegeCache(privilege);
+        eventPublisher.publishEvent(PrincipalChangedEvent.all());
 
         return mapper.entityToDTO(privilegeNew);
     }
@@ -63,7 +67,7 @@ public class PrivilegeService extends GenericService<Privilege, PrivilegeEditorF
                 new BWCNotFoundException(messageService.getMessage("privilege.not.found", id)));
         repository.delete(privilege);
 
-        privilegeCacheService.invalidatePrivilegeCache(privilege);
+        eventPublisher.publishEvent(PrincipalChangedEvent.all());
     }
 
     @Override
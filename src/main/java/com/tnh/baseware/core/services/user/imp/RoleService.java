@@ -1,7 +1,9 @@
 package com.tnh.baseware.core.services.user.imp;
 
+import com.tnh.baseware.core.annotations.ResultCache;
 import com.tnh.baseware.core.dtos.user.RoleDTO;
 import com.tnh.baseware.core.entities.user.Role;
+import com.tnh.baseware.core.events.type.PrincipalChangedEvent;
 import com.tnh.baseware.core.exceptions.BWCNotFoundException;
 import com.tnh.baseware.core.forms.user.RoleEditorForm;
 import com.tnh.baseware.core.mappers.user.IRoleMapper;
@@ -15,6 +17,7 @@ import com.tnh.baseware.core.services.user.IRoleService;
 import com.tnh.baseware.core.utils.BasewareUtils;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,13 +26,14 @@ import java.util.List;
 import java.util.UUID;
 
 @Service
+@ResultCache
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class RoleService extends GenericService<Role, RoleEditorForm, RoleDTO, IRoleRepository, IRoleMapper, UUID> implements IRoleService {
 
     IMenuRepository menuRepository;
     IUserRepository userRepository;
     IPrivilegeRepository privilegeRepository;
-    PrivilegeCacheService privilegeCacheService;
+    ApplicationEventPublisher eventPublisher;
 
     public RoleService(IRoleRepository repository,
                        IRoleMapper mapper,
@@ -37,12 +41,12 @@ public class RoleService extends GenericService<Role, RoleEditorForm, RoleDTO, I
                        IMenuRepository menuRepository,
                        IUserRepository userRepository,
                        IPrivilegeRepository privilegeRepository,
-                       PrivilegeCacheService privilegeCacheService) {
+                       ApplicationEventPublisher eventPublisher) {
         super(repository, mapper, messageService, Role.class);
         this.menuRepository = menuRepository;
         this.userRepository = userRepository;
         this.privilegeRepository = privilegeRepository;
-        this.privilegeCacheService = privilegeCacheService;
+        this.eventPublisher = eventPublisher;
     }
 
 
@@ -52,7 +56,7 @@ public class RoleService extends GenericService<Role, RoleEditorForm, RoleDTO, I
         var role = repository.findById(id).orElseThrow(() ->
                 new BWCNotFoundException(messageService.getMessage("role.not.found", id)));
         repository.delete(role);
-        privilegeCacheService.invalidateAllUserPrivilegesByRole(role);
+        eventPublisher.publishEvent(PrincipalChangedEvent.all());
     }
 
     @Override
@@ -68,7 +72,7 @@ public class RoleService extends GenericService<Role, RoleEditorForm, RoleDTO, I
         users.forEach(user -> user.getRoles().add(role));
 
         userRepository.saveAll(users);
-        privilegeCacheService.invalidateAllUserPrivilegesByRole(role);
+        eventPublisher.publishEvent(PrincipalChangedEvent.all());
     }
 
     @Override
@@ -84,7 +88,7 @@ public class RoleService extends GenericService<Role, RoleEditorForm, RoleDTO, I
         users.forEach(user -> user.getRoles().remove(role));
 
         userRepository.saveAll(users);
-        privilegeCacheService.invalidateAllUserPrivilegesByRole(role);
+        eventPublisher.publishEvent(PrincipalChangedEvent.all());
     }
 
     @Override
@@ -100,7 +104,7 @@ public class RoleService extends GenericService<Role, RoleEditorForm, RoleDTO, I
         role.getPrivileges().addAll(privileges);
 
         repository.save(role);
-        privilegeCacheService.invalidateAllUserPrivilegesByRole(role);
+        eventPublisher.publishEvent(PrincipalChangedEvent.all());
     }
 
     @Override
@@ -116,7 +120,7 @@ public class RoleService extends GenericService<Role, RoleEditorForm, RoleDTO, I
         privileges.forEach(role.getPrivileges()::remove);
 
         repository.save(role);
-        privilegeCacheService.invalidateAllUserPrivilegesByRole(role);
+        eventPublisher.publishEvent(PrincipalChangedEvent.all());
     }
 
     @Override
@@ -132,7 +136,6 @@ public class RoleService extends GenericService<Role, RoleEditorForm, RoleDTO, I
         menus.forEach(menu -> menu.getRoles().add(role));
 
         menuRepository.saveAll(menus);
-        privilegeCacheService.invalidateAllUserPrivilegesByRole(role);
     }
 
     @Override
@@ -148,7 +151,6 @@ public class RoleService extends GenericService<Role, RoleEditorForm, RoleDTO, I
         menus.forEach(menu -> menu.getRoles().remove(role));
 
         menuRepository.saveAll(menus);
-        privilegeCacheService.invalidateAllUserPrivilegesByRole(role);
     }
 
     @Override
@@ -5,6 +5,7 @@ import com.tnh.baseware.core.dtos.user.UserTokenDTO;
 import com.tnh.baseware.core.entities.user.Menu;
 import com.tnh.baseware.core.entities.user.User;
 import com.tnh.baseware.core.entities.user.UserOrganization;
+import com.tnh.baseware.core.events.type.PrincipalChangedEvent;
 import com.tnh.baseware.core.events.type.UserCreatedEvent;
 import com.tnh.baseware.core.exceptions.BWCNotFoundException;
 import com.tnh.baseware.core.exceptions.BWCValidationException;
@@ -101,10 +102,53 @@ public class UserService extends GenericService<User, UserEditorForm, UserDTO, I
     public UserDTO update(UUID id, UserEditorForm form) {
         var user = repository.findById(id)
                 .orElseThrow(() -> new BWCNotFoundException(messageService.getMessage("user.not.found", id)));
+        // tokens issued under the old username resolve its snapshot until it is evicted too
+        var previousUsername = user.getUsername();
         mapper.updateUserFromForm(form, user);
+        eventPublisher.publishEvent(new PrincipalChangedEvent(user.getId(), previousUsername));
+        if (!Objects.equals(previousUsername, user.getUsername())) {
+            eventPublisher.publishEvent(new PrincipalChangedEvent(user.getId(), user.getUsername()));
+        }
         return mapper.entityToDTO(repository.save(user));
     }
 
+    @Override
+    @Transactional
+    public void delete(UUID id) {
+        publishPrincipalChanged(id);
+        super.delete(id);
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllByIds(List<UUID> ids) {
+        super.deleteAllByIds(ids);
+        eventPublisher.publishEvent(PrincipalChangedEvent.all());
+    }
+
+    @Override
+    @Transactional
+    public void softDeleteById(UUID id) {
+        publishPrincipalChanged(id);
+        super.softDeleteById(id);
+    }
+
+    @Override
+    @Transactional
+    public int softDeleteAll(List<UUID> ids) {
+        var updated = super.softDeleteAll(ids);
+        if (updated > 0) eventPublisher.publishEvent(PrincipalChangedEvent.all());
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int restoreAll(List<UUID> ids) {
+        var updated = super.restoreAll(ids);
+        if (updated > 0) eventPublisher.publishEvent(PrincipalChangedEvent.all());
+        return updated;
+    }
+
     @Override
     @Transactional
     public UserDTO registerUser(RegisterForm form, HttpServletRequest request) {
@@ -182,6 +226,7 @@ public class UserService extends GenericService<User, UserEditorForm, UserDTO, I
                 .orElseThrow(() -> new BWCNotFoundException(messageService.getMessage("user.not.found", id)));
         user.setEnabled(true);
         repository.save(user);
+        eventPublisher.publishEvent(new PrincipalChangedEvent(user.getId(), user.getUsername()));
     }
 
     @Override
@@ -191,6 +236,7 @@ public class UserService extends GenericService<User, UserEditorForm, UserDTO, I
                 .orElseThrow(() -> new BWCNotFoundException(messageService.getMessage("user.not.found", id)));
         user.setEnabled(false);
         repository.save(user);
+        eventPublisher.publishEvent(new PrincipalChangedEvent(user.getId(), user.getUsername()));
     }
 
     @Override
@@ -200,6 +246,7 @@ public class UserService extends GenericService<User, UserEditorForm, UserDTO, I
                 .orElseThrow(() -> new BWCNotFoundException(messageService.getMessage("user.not.found", id)));
         user.setLocked(true);
         repository.save(user);
+        eventPublisher.publishEvent(new PrincipalChangedEvent(user.getId(), user.getUsername()));
     }
 
     @Override
@@ -209,6 +256,7 @@ public class UserService extends GenericService<User, UserEditorForm, UserDTO, I
                 .orElseThrow(() -> new BWCNotFoundException(messageService.getMessage("user.not.found", id)));
         user.setLocked(false);
         repository.save(user);
+        eventPublisher.publishEvent(new PrincipalChangedEvent(user.getId(), user.getUsername()));
     }
 
     @Override
@@ -417,4 +465,8 @@ public class UserService extends GenericService<User, UserEditorForm, UserDTO, I
         }
     }
 
+    private void publishPrincipalChanged(UUID id) {
+        repository.findById(id).ifPresent(user ->
+                eventPublisher.publishEvent(new PrincipalChangedEvent(user.getId(), user.getUsername())));
+    }
 }
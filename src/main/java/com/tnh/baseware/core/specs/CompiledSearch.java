@@ -0,0 +1,152 @@
+package com.tnh.baseware.core.specs;
+
+import jakarta.persistence.Query;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A {@link SearchShape} compiled once into parameterized HQL. The query strings never change for a
+ * shape, so Hibernate's query plan cache serves the SQL translation too; a search only binds its
+ * values. Every key is checked against the metamodel before it is written into the query, nested
+ * keys may only walk embeddables and to-one associations, and keys sharing a prefix share one join.
+ */
+public final class CompiledSearch {
+
+    private static final String ROOT = "e";
+
+    private final String selectHql;
+    private final String countHql;
+    private final List<Parameter> parameters;
+
+    private CompiledSearch(String selectHql, String countHql, List<Parameter> parameters) {
+        this.selectHql = selectHql;
+        this.countHql = countHql;
+        this.parameters = parameters;
+    }
+
+    /**
+     * @throws IllegalArgumentException when a key does not exist on the entity or a filter or sort is
+     *                                  incomplete
+     */
+    public static CompiledSearch compile(EntityType<?> entity, SearchShape shape) {
+        return new Compiler(entity).compile(shape);
+    }
+
+    public String getSelectHql() {
+        return selectHql;
+    }
+
+    public String getCountHql() {
+        return countHql;
+    }
+
+    public void bind(Query query, SearchRequest request) {
+        var filters = request.getFilters();
+        for (var parameter : parameters) {
+            query.setParameter(parameter.name(), parameter.value().apply(filters.get(parameter.filter())));
+        }
+    }
+
+    /**
+     * A named parameter and how to read its value from the filter at the same position in the request.
+     */
+    public record Parameter(String name, int filter, Function<FilterRequest, Object> value) {
+    }
+
+    /**
+     * Collects the parameters of the filter being compiled.
+     */
+    public static final class Parameters {
+
+        private final List<Parameter> parameters = new ArrayList<>();
+        private int filter;
+
+        public String add(Function<FilterRequest, Object> value) {
+            var name = "p" + parameters.size();
+            parameters.add(new Parameter(name, filter, value));
+            return ":" + name;
+        }
+    }
+
+    private static final class Compiler {
+
+        private final EntityType<?> entity;
+        private final StringBuilder from;
+        private final Map<String, String> joins = new LinkedHashMap<>();
+
+        Compiler(EntityType<?> entity) {
+            this.entity = entity;
+            this.from = new StringBuilder("from ").append(entity.getName()).append(' ').append(ROOT);
+        }
+
+        CompiledSearch compile(SearchShape shape) {
+            var parameters = new Parameters();
+            var predicates = new ArrayList<String>();
+            for (var i = 0; i < shape.filters().size(); i++) {
+                var filter = shape.filters().get(i);
+                if (filter.operator() == null || filter.fieldType() == null) {
+                    throw new IllegalArgumentException("Incomplete filter: " + filter.key());
+                }
+                parameters.filter = i;
+                var predicate = filter.operator().toHql(path(filter.key()), filter, parameters);
+                if (predicate != null) predicates.add(predicate);
+            }
+
+            var orders = new ArrayList<String>();
+            for (var sort : shape.sorts()) {
+                if (sort.direction() == null) throw new IllegalArgumentException("Incomplete sort: " + sort.key());
+                orders.add(path(sort.key()) + " " + sort.direction().name().toLowerCase());
+            }
+
+            var where = predicates.isEmpty() ? "" : " where " + String.join(" and ", predicates);
+            var orderBy = orders.isEmpty() ? "" : " order by " + String.join(", ", orders);
+            return new CompiledSearch(
+                    "select " + ROOT + " " + from + where + orderBy,
+                    "select count(" + ROOT + ") " + from + where,
+                    List.copyOf(parameters.parameters));
+        }
+
+        private String path(String key) {
+            if (key == null || key.isBlank()) throw new IllegalArgumentException("Missing key");
+
+            var segments = key.split("\\.");
+            if (segments.length == 0) throw new IllegalArgumentException("Invalid key: " + key);
+            ManagedType<?> type = entity;
+            var path = ROOT;
+            for (var i = 0; i < segments.length; i++) {
+                var attribute = type.getAttribute(segments[i]);
+                if (i == segments.length - 1) return path + "." + attribute.getName();
+
+                var next = path + "." + attribute.getName();
+                if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.EMBEDDED) {
+                    path = next;
+                } else if (attribute.isAssociation() && !attribute.isCollection()) {
+                    path = joins.computeIfAbsent(next, this::join);
+                } else {
+                    throw new IllegalArgumentException("Not navigable: " + key);
+                }
+                type = targetOf(attribute, key);
+            }
+            return path;
+        }
+
+        private String join(String path) {
+            var alias = "j" + joins.size();
+            from.append(" join ").append(path).append(' ').append(alias);
+            return alias;
+        }
+
+        private static ManagedType<?> targetOf(Attribute<?, ?> attribute, String key) {
+            if (((SingularAttribute<?, ?>) attribute).getType() instanceof ManagedType<?> managed) return managed;
+            throw new IllegalArgumentException("Not navigable: " + key);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.tnh.baseware.core.specs;
+
+/**
+ * How a search request obtains the total behind its page.
+ */
+public enum CountPolicy {
+
+    /**
+     * Runs {@code SELECT COUNT(*)} with the search predicates.
+     */
+    EXACT,
+
+    /**
+     * Skips counting; one extra row is read to tell whether a next page exists.
+     */
+    NONE,
+
+    /**
+     * Uses the planner's row estimate for unfiltered searches and a TTL-cached exact count otherwise.
+     */
+    ESTIMATED
+}
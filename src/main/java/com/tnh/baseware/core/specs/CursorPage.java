@@ -0,0 +1,18 @@
+package com.tnh.baseware.core.specs;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset scan. There is no total: {@code nextCursor} is {@code null} on the last page.
+ */
+public record CursorPage<T>(List<T> content, int size, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <U> CursorPage<U> map(Function<? super T, ? extends U> converter) {
+        return new CursorPage<>(content.stream().<U>map(converter).toList(), size, nextCursor);
+    }
+}
@@ -34,8 +34,7 @@ public enum FieldType {
                 if (value.contains("T")) {
                      date = Instant.parse(value);
                 } else {
-                     var formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss").withZone(ZoneId.systemDefault());
-                     date = Instant.from(formatter.parse(value));
+                     date = Instant.from(DATE_TIME_FORMATTER.parse(value));
                 }
             } catch (Exception e) {
                 log.error(LogStyleHelper.error("Failed parse field type DATE {}"), e.getMessage());
@@ -80,5 +79,9 @@ public enum FieldType {
         }
     };
 
+    // formatters are immutable and thread-safe, so one instance serves every request
+    private static final DateTimeFormatter DATE_TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss").withZone(ZoneId.systemDefault());
+
     public abstract Object parse(String value);
 }
@@ -0,0 +1,39 @@
+package com.tnh.baseware.core.specs;
+
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page, ordered by {@code (createdDate, id)} descending. It
+ * travels to clients as an opaque URL-safe token and is decoded back into typed values.
+ */
+public record KeysetCursor(Instant createdDate, String id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static KeysetCursor of(Instant createdDate, Object id) {
+        return new KeysetCursor(createdDate, String.valueOf(id));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the token was not produced by {@link #encode()}
+     */
+    public static KeysetCursor decode(String token) {
+        var decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        var separator = decoded.indexOf(SEPARATOR);
+        if (separator < 0) throw new IllegalArgumentException("Malformed cursor");
+        return new KeysetCursor(Instant.parse(decoded.substring(0, separator)), decoded.substring(separator + 1));
+    }
+
+    public String encode() {
+        var raw = createdDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public <T> T idAs(Class<T> type) {
+        return DefaultConversionService.getSharedInstance().convert(id, type);
+    }
+}
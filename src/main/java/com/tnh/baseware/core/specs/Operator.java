@@ -1,5 +1,6 @@
 package com.tnh.baseware.core.specs;
 
+import com.tnh.baseware.core.configs.SearchFunctionContributor;
 import com.tnh.baseware.core.utils.LogStyleHelper;
 import jakarta.persistence.criteria.*;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +16,10 @@ public enum Operator {
             var key = this.getPath(root, request);
             return cb.and(cb.equal(key, value), predicate);
         }
+
+        public String toHql(String path, SearchShape.Filter filter, CompiledSearch.Parameters parameters) {
+            return path + " = " + parameters.add(Operator::parseValue);
+        }
     },
 
     NOT_EQUAL {
@@ -23,6 +28,10 @@ public enum Operator {
             var key = this.getPath(root, request);
             return cb.and(cb.notEqual(key, value), predicate);
         }
+
+        public String toHql(String path, SearchShape.Filter filter, CompiledSearch.Parameters parameters) {
+            return path + " <> " + parameters.add(Operator::parseValue);
+        }
     },
 
     LIKE {
@@ -30,6 +39,10 @@ public enum Operator {
             Expression<String> key = this.getPath(root, request);
             return cb.and(cb.like(cb.upper(key), "%" + request.getValue().toString().toUpperCase() + "%"), predicate);
         }
+
+        public String toHql(String path, SearchShape.Filter filter, CompiledSearch.Parameters parameters) {
+            return "upper(" + path + ") like " + parameters.add(r -> "%" + r.getValue().toString().toUpperCase() + "%");
+        }
     },
     GREATER_THAN {
         @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -39,6 +52,10 @@ public enum Operator {
             Expression<Comparable> key = this.getPath(root, request);
             return cb.and(cb.greaterThan(key, (Comparable) value), predicate);
         }
+
+        public String toHql(String path, SearchShape.Filter filter, CompiledSearch.Parameters parameters) {
+            return path + " > " + parameters.add(Operator::parseValue);
+        }
     },
     LESS_THAN {
         @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -48,6 +65,10 @@ public enum Operator {
             Expression<Comparable> key = this.getPath(root, request);
             return cb.and(cb.lessThan(key, (Comparable) value), predicate);
         }
+
+        public String toHql(String path, SearchShape.Filter filter, CompiledSearch.Parameters parameters) {
+            return path + " < " + parameters.add(Operator::parseValue);
+        }
     },
     IN {
         public <T> Predicate build(Root<T> root, CriteriaBuilder cb, FilterRequest request, Predicate predicate) {
@@ -58,6 +79,13 @@ public enum Operator {
             }
             return cb.and(inClause, predicate);
         }
+
+        public String toHql(String path, SearchShape.Filter filter, CompiledSearch.Parameters parameters) {
+            if (filter.noValues()) return "1 = 0";
+            return path + " in (" + parameters.add(r -> r.getValues().stream()
+                    .map(value -> r.getFieldType().parse(value.toString()))
+                    .toList()) + ")";
+        }
     },
     NOT_IN {
         public <T> Predicate build(Root<T> root, CriteriaBuilder cb, FilterRequest request, Predicate predicate) {
@@ -66,6 +94,10 @@ public enum Operator {
             inClause.value(request.getFieldType().parse(value.toString()));
             return cb.and(cb.not(inClause), predicate);
         }
+
+        public String toHql(String path, SearchShape.Filter filter, CompiledSearch.Parameters parameters) {
+            return path + " not in (" + parameters.add(Operator::parseValue) + ")";
+        }
     },
 
     BETWEEN {
@@ -90,10 +122,88 @@ public enum Operator {
             log.debug(LogStyleHelper.debug("Can not use between for {} field type."), request.getFieldType());
             return predicate;
         }
+
+        public String toHql(String path, SearchShape.Filter filter, CompiledSearch.Parameters parameters) {
+            if (filter.fieldType() == FieldType.CHAR || filter.fieldType() == FieldType.BOOLEAN) {
+                log.debug(LogStyleHelper.debug("Can not use between for {} field type."), filter.fieldType());
+                return null;
+            }
+            return "(" + path + " >= " + parameters.add(Operator::parseValue) + " and " + path + " <= "
+                    + parameters.add(r -> r.getFieldType().parse(r.getValueTo().toString())) + ")";
+        }
+    },
+
+    /**
+     * Accent-insensitive word match, so "Ha Noi" finds "Hà Nội". Indexed on {@code @Searchable} columns.
+     */
+    FULL_TEXT {
+        public <T> Predicate build(Root<T> root, CriteriaBuilder cb, FilterRequest request, Predicate predicate) {
+            Expression<String> key = this.getPath(root, request);
+            var match = cb.function(SearchFunctionContributor.FULL_TEXT_MATCH, Boolean.class,
+                    key, cb.literal(request.getValue().toString()));
+            return cb.and(cb.isTrue(match), predicate);
+        }
+
+        public String toHql(String path, SearchShape.Filter filter, CompiledSearch.Parameters parameters) {
+            return SearchFunctionContributor.FULL_TEXT_MATCH + "(" + path + ", "
+                    + parameters.add(r -> r.getValue().toString()) + ") = true";
+        }
+    },
+
+    /**
+     * Accent- and case-insensitive "starts with". Indexed on {@code @Searchable} columns.
+     */
+    PREFIX {
+        public <T> Predicate build(Root<T> root, CriteriaBuilder cb, FilterRequest request, Predicate predicate) {
+            Expression<String> key = this.getPath(root, request);
+            var pattern = cb.concat(cb.function(SearchFunctionContributor.UNACCENT_LOWER, String.class,
+                    cb.literal(escapeLike(request.getValue().toString()))), "%");
+            return cb.and(cb.like(cb.function(SearchFunctionContributor.UNACCENT_LOWER, String.class, key), pattern,
+                    LIKE_ESCAPE), predicate);
+        }
+
+        public String toHql(String path, SearchShape.Filter filter, CompiledSearch.Parameters parameters) {
+            return SearchFunctionContributor.UNACCENT_LOWER + "(" + path + ") like concat("
+                    + SearchFunctionContributor.UNACCENT_LOWER + "(" + parameters.add(r -> escapeLike(r.getValue().toString()))
+                    + "), '%') escape '" + LIKE_ESCAPE + "'";
+        }
+    },
+
+    /**
+     * Typo-tolerant trigram word similarity. Indexed on {@code @Searchable} columns.
+     */
+    FUZZY {
+        public <T> Predicate build(Root<T> root, CriteriaBuilder cb, FilterRequest request, Predicate predicate) {
+            Expression<String> key = this.getPath(root, request);
+            var match = cb.function(SearchFunctionContributor.FUZZY_MATCH, Boolean.class,
+                    key, cb.literal(request.getValue().toString()));
+            return cb.and(cb.isTrue(match), predicate);
+        }
+
+        public String toHql(String path, SearchShape.Filter filter, CompiledSearch.Parameters parameters) {
+            return SearchFunctionContributor.FUZZY_MATCH + "(" + path + ", "
+                    + parameters.add(r -> r.getValue().toString()) + ") = true";
+        }
     };
 
+    private static final char LIKE_ESCAPE = '\\';
+
     public abstract <T> Predicate build(Root<T> root, CriteriaBuilder cb, FilterRequest request, Predicate predicate);
 
+    /**
+     * Renders the filter as an HQL predicate on {@code path}, registering its values as parameters,
+     * or returns {@code null} when the filter does not constrain anything.
+     */
+    public abstract String toHql(String path, SearchShape.Filter filter, CompiledSearch.Parameters parameters);
+
+    private static Object parseValue(FilterRequest request) {
+        return request.getFieldType().parse(request.getValue().toString());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     public <T, V> Path<V> getPath(Root<T> root, FilterRequest request) {
         var keys = request.getKey().split("\\.");
         Path<V> path = root.get(keys[0]);
@@ -27,6 +27,9 @@ public class SearchRequest implements Serializable {
     List<SortRequest> sorts;
     Integer page;
     Integer size;
+    String cursor; // keyset continuation token, only read by the cursor search
+    CountPolicy count; // defaults to EXACT
+    List<String> fields; // sparse fieldset, full DTOs when empty
 
     public List<FilterRequest> getFilters() {
         if (Objects.isNull(this.filters))
@@ -0,0 +1,32 @@
+package com.tnh.baseware.core.specs;
+
+import java.util.List;
+
+/**
+ * A search request with its values stripped: the entity, each filter's key, operator and field type,
+ * and the sorts. Requests of the same shape compile to the same query and differ only in bound
+ * parameters, which is what {@link CompiledSearch} is cached by.
+ */
+public record SearchShape(Class<?> entityClass, List<Filter> filters, List<Sort> sorts) {
+
+    public static SearchShape of(Class<?> entityClass, SearchRequest request) {
+        var filters = request.getFilters().stream()
+                .map(filter -> new Filter(filter.getKey(), filter.getOperator(), filter.getFieldType(),
+                        filter.getValues() == null || filter.getValues().isEmpty()))
+                .toList();
+        var sorts = request.getSorts().stream()
+                .map(sort -> new Sort(sort.getKey(), sort.getDirection()))
+                .toList();
+        return new SearchShape(entityClass, filters, sorts);
+    }
+
+    /**
+     * @param noValues whether the filter carries no value list, which turns {@code IN} into a
+     *                 predicate that matches nothing
+     */
+    public record Filter(String key, Operator operator, FieldType fieldType, boolean noValues) {
+    }
+
+    public record Sort(String key, SortDirection direction) {
+    }
+}
@@ -1,9 +1,7 @@
 package com.tnh.baseware.core.utils;
 
-import jakarta.persistence.Entity;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
-import org.reflections.Reflections;
 import ua_parser.Parser;
 
 import java.lang.reflect.Array;
@@ -74,8 +72,9 @@ public class BasewareUtils {
     }
 
     public static Set<Class<?>> getEntities(String pathEntity) {
-        var reflections = new Reflections(pathEntity);
-        return reflections.getTypesAnnotatedWith(Entity.class);
+        return ClassIndex.entities().stream()
+                .filter(entity -> entity.getName().startsWith(pathEntity + "."))
+                .collect(Collectors.toSet());
     }
 
     public static List<String> getMethods(String clazzName) {
@@ -171,11 +170,23 @@ public class BasewareUtils {
         }
     }
 
+    public static ClientInfo getClientInfo(String userAgent) {
+        try {
+            var client = UA_PARSER.parse(userAgent);
+            return new ClientInfo(client.device.family, client.os.family, client.userAgent.family);
+        } catch (Exception e) {
+            log.error(LogStyleHelper.error("Error parsing user agent: {}"), e.getMessage());
+            return new ClientInfo("Unknown", "Unknown", "Unknown");
+        }
+    }
+
     public static String generateDeviceId(HttpServletRequest request) {
-        var ipAddress = request.getRemoteAddr();
-        var userAgent = request.getHeader("User-Agent");
-        var acceptLang = request.getHeader("Accept-Language");
+        return generateDeviceId(request.getRemoteAddr(),
+                request.getHeader("User-Agent"),
+                request.getHeader("Accept-Language"));
+    }
 
+    public static String generateDeviceId(String ipAddress, String userAgent, String acceptLang) {
         var badUserAgents = Set.of("Other", "Unknown", "Generic", "", "null", "undefined", "N/A", "No User Agent");
 
         if (userAgent == null || badUserAgents.contains(userAgent.trim())) {
@@ -201,12 +212,23 @@ public class BasewareUtils {
         }
     }
 
-    private static String bytesToHex(byte[] bytes) {
-        var sb = new StringBuilder();
-        for (var b : bytes) {
-            sb.append(String.format("%02x", b));
+    public static String sha256Hex(String input) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] digest = md.digest(input.getBytes(StandardCharsets.UTF_8));
+            return bytesToHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // every JVM ships SHA-256; keep the result deterministic if one somehow does not
+            log.error(LogStyleHelper.error("SHA-256 not available: {}"), e.getMessage());
+            return input;
         }
-        return sb.toString();
+    }
+
+    private static String bytesToHex(byte[] bytes) {
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    public record ClientInfo(String device, String platform, String browser) {
     }
 
     public static void main(String[] args) {
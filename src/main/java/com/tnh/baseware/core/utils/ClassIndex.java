@@ -0,0 +1,114 @@
+package com.tnh.baseware.core.utils;
+
+import com.tnh.baseware.core.enums.base.BaseEnum;
+import jakarta.persistence.Entity;
+import lombok.extern.slf4j.Slf4j;
+import org.reflections.Reflections;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Build-time index of the enums, entities and REST resources, so startup and the first calls read
+ * a class list instead of scanning the classpath. {@link #main} writes the index into the build
+ * output during {@code process-classes}; when it is missing, e.g. classes compiled by an IDE, the
+ * index falls back to the classpath scan it replaces.
+ */
+@Slf4j
+public final class ClassIndex {
+
+    private static final String LOCATION = "META-INF/baseware/";
+    private static final String ENUMS = "enums";
+    private static final String ENTITIES = "entities";
+    private static final String RESOURCES = "resources";
+    private static final String BASE_PACKAGE = "com.tnh.baseware.core.";
+
+    private static final Map<String, List<Class<?>>> INDEX = new ConcurrentHashMap<>();
+
+    private ClassIndex() {
+    }
+
+    /**
+     * Enums implementing {@link BaseEnum}.
+     */
+    public static List<Class<?>> enums() {
+        return INDEX.computeIfAbsent(ENUMS, ClassIndex::load);
+    }
+
+    public static List<Class<?>> entities() {
+        return INDEX.computeIfAbsent(ENTITIES, ClassIndex::load);
+    }
+
+    /**
+     * Types annotated with {@link RequestMapping}, including their subclasses.
+     */
+    public static List<Class<?>> resources() {
+        return INDEX.computeIfAbsent(RESOURCES, ClassIndex::load);
+    }
+
+    /**
+     * Writes the index below the given output directory.
+     */
+    public static void main(String[] args) throws IOException {
+        var output = Path.of(args.length > 0 ? args[0] : "target/classes").resolve(LOCATION);
+        Files.createDirectories(output);
+        for (var kind : List.of(ENUMS, ENTITIES, RESOURCES)) {
+            var names = scan(kind).stream()
+                    .map(Class::getName)
+                    .sorted()
+                    .toList();
+            Files.write(output.resolve(kind), names, StandardCharsets.UTF_8);
+            log.info(LogStyleHelper.info("Indexed {} {}"), names.size(), kind);
+        }
+    }
+
+    private static List<Class<?>> load(String kind) {
+        var resource = ClassIndex.class.getClassLoader().getResourceAsStream(LOCATION + kind);
+        if (resource == null) {
+            log.warn(LogStyleHelper.warn("No {} index on the classpath, scanning instead"), kind);
+            return scan(kind);
+        }
+
+        var classes = new ArrayList<Class<?>>();
+        try (var reader = new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8))) {
+            for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.isBlank()) continue;
+                try {
+                    classes.add(Class.forName(line.trim()));
+                } catch (ClassNotFoundException e) {
+                    log.warn(LogStyleHelper.warn("Indexed class {} not found, index is stale"), line);
+                }
+            }
+        } catch (IOException e) {
+            log.warn(LogStyleHelper.warn("Error reading {} index, scanning instead: {}"), kind, e.getMessage());
+            return scan(kind);
+        }
+        return List.copyOf(classes);
+    }
+
+    private static List<Class<?>> scan(String kind) {
+        Collection<Class<?>> classes = switch (kind) {
+            case ENUMS -> new Reflections(BASE_PACKAGE + ENUMS).getSubTypesOf(BaseEnum.class).stream()
+                    .filter(Class::isEnum)
+                    .<Class<?>>map(type -> type)
+                    .toList();
+            case ENTITIES -> new Reflections(BASE_PACKAGE + ENTITIES).getTypesAnnotatedWith(Entity.class);
+            case RESOURCES -> new Reflections(BASE_PACKAGE + RESOURCES).getTypesAnnotatedWith(RequestMapping.class);
+            default -> throw new IllegalArgumentException("Unknown index: " + kind);
+        };
+        return classes.stream()
+                .sorted(Comparator.comparing(Class::getName))
+                .toList();
+    }
+}
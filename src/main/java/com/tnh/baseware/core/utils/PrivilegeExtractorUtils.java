@@ -3,7 +3,6 @@ package com.tnh.baseware.core.utils;
 import com.tnh.baseware.core.resources.user.AuthenticationResource;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.extern.slf4j.Slf4j;
-import org.reflections.Reflections;
 import org.springframework.web.bind.annotation.*;
 
 import java.lang.annotation.Annotation;
@@ -20,9 +19,9 @@ public class PrivilegeExtractorUtils {
 
     public static List<ExtractedPrivilege> extractAllPrivileges(String basePackage) {
         var allPrivileges = new ArrayList<ExtractedPrivilege>();
-        var reflections = new Reflections(basePackage);
-
-        var controllers = reflections.getTypesAnnotatedWith(RequestMapping.class);
+        var controllers = ClassIndex.resources().stream()
+                .filter(controller -> controller.getName().startsWith(basePackage + "."))
+                .toList();
         for (var controllerClass : controllers) {
             if (AuthenticationResource.class.equals(controllerClass)) continue;
 
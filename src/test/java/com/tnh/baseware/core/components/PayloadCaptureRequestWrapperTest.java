@@ -0,0 +1,54 @@
+package com.tnh.baseware.core.components;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The activity log gets the request body however the application consumed it: read from the
+ * stream, or parsed into parameters by the container.
+ */
+class PayloadCaptureRequestWrapperTest {
+
+    private static final List<String> SKIPPED = List.of("multipart/");
+
+    @Test
+    void capturesBodyReadFromStream() throws Exception {
+        var request = new MockHttpServletRequest("POST", "/api/v1/users");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent("{\"username\":\"admin\"}".getBytes(StandardCharsets.UTF_8));
+        var wrapper = new PayloadCaptureRequestWrapper(request, 1024, SKIPPED);
+
+        wrapper.getInputStream().readAllBytes();
+
+        assertThat(wrapper.getCapturedPayload()).isEqualTo("{\"username\":\"admin\"}");
+    }
+
+    @Test
+    void capturesFormPostReadThroughParameters() {
+        var request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.setContentType(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+        request.addParameter("username", "admin");
+        request.addParameter("note", "Hà Nội");
+        var wrapper = new PayloadCaptureRequestWrapper(request, 1024, SKIPPED);
+
+        assertThat(wrapper.getParameter("username")).isEqualTo("admin");
+
+        assertThat(wrapper.getCapturedPayload()).isEqualTo("username=admin&note=H%C3%A0+N%E1%BB%99i");
+    }
+
+    @Test
+    void formParametersRespectLimit() {
+        var request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.setContentType(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+        request.addParameter("username", "administrator");
+        var wrapper = new PayloadCaptureRequestWrapper(request, 8, SKIPPED);
+
+        assertThat(wrapper.getCapturedPayload()).isEqualTo("username... [truncated]");
+    }
+}
@@ -0,0 +1,139 @@
+package com.tnh.baseware.core.resources;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.tnh.baseware.core.components.ConditionalGetEvaluator;
+import com.tnh.baseware.core.dtos.user.UserDTO;
+import com.tnh.baseware.core.entities.user.User;
+import com.tnh.baseware.core.exceptions.BWCValidationException;
+import com.tnh.baseware.core.exceptions.GlobalExceptionHandler;
+import com.tnh.baseware.core.forms.user.UserEditorForm;
+import com.tnh.baseware.core.mappers.user.IUserMapper;
+import com.tnh.baseware.core.properties.SystemProperties;
+import com.tnh.baseware.core.repositories.ProjectionRepository;
+import com.tnh.baseware.core.repositories.user.IUserRepository;
+import com.tnh.baseware.core.services.EntityVersionService;
+import com.tnh.baseware.core.services.GenericService;
+import com.tnh.baseware.core.services.MessageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssemblerArgumentResolver;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sparse fieldsets must never reach properties the full representation hides, nor stand in for a
+ * paged read the service replaces.
+ */
+class GenericResourceProjectionTest {
+
+    ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .build();
+    ProjectionRepository projectionRepository = new ProjectionRepository(objectMapper);
+    MessageService messageService;
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        var messageSource = new StaticMessageSource();
+        messageSource.setUseCodeAsDefaultMessage(true);
+        messageService = new MessageService(messageSource);
+
+        var entityVersionService = mock(EntityVersionService.class);
+        when(entityVersionService.current(any())).thenReturn(OptionalLong.empty());
+
+        var service = new UserProjectionService(mock(IUserRepository.class), mock(IUserMapper.class), messageService);
+        ReflectionTestUtils.setField(service, "projectionRepository", projectionRepository);
+        ReflectionTestUtils.setField(service, "entityVersionService", entityVersionService);
+
+        var resource = new UserProjectionResource(service, messageService);
+        ReflectionTestUtils.setField(resource, "conditionalGet", new ConditionalGetEvaluator(new SystemProperties()));
+
+        mockMvc = MockMvcBuilders.standaloneSetup(resource)
+                .setControllerAdvice(new GlobalExceptionHandler(messageService))
+                .setCustomArgumentResolvers(new HateoasPageableHandlerMethodArgumentResolver(),
+                        new PagedResourcesAssemblerArgumentResolver(new HateoasPageableHandlerMethodArgumentResolver()))
+                .build();
+    }
+
+    @Test
+    void rejectsJsonIgnoredField() {
+        assertThatThrownBy(() -> projectionRepository.resolve(User.class, UserDTO.class, List.of("password")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("password");
+    }
+
+    @Test
+    void paginationWithPasswordFieldIsBadRequest() throws Exception {
+        mockMvc.perform(get("/users/pagination").param("fields", "username,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void activePaginationWithPasswordFieldIsBadRequest() throws Exception {
+        mockMvc.perform(get("/users/active/pagination").param("fields", "password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void overriddenPagedReadRefusesFields() {
+        var service = new TreeUserService(mock(IUserRepository.class), mock(IUserMapper.class), messageService);
+
+        assertThatThrownBy(() -> service.findAll(PageRequest.of(0, 10), List.of("username")))
+                .isInstanceOf(BWCValidationException.class)
+                .hasMessage("fields.unsupported");
+    }
+
+    static class UserProjectionService
+            extends GenericService<User, UserEditorForm, UserDTO, IUserRepository, IUserMapper, UUID> {
+
+        UserProjectionService(IUserRepository repository, IUserMapper mapper, MessageService messageService) {
+            super(repository, mapper, messageService, User.class);
+        }
+    }
+
+    /**
+     * Stands in for services such as the menu and organization ones, whose paged read builds a tree.
+     */
+    static class TreeUserService extends UserProjectionService {
+
+        TreeUserService(IUserRepository repository, IUserMapper mapper, MessageService messageService) {
+            super(repository, mapper, messageService);
+        }
+
+        @Override
+        public Page<UserDTO> findAll(Pageable pageable) {
+            return Page.empty(pageable);
+        }
+    }
+
+    @RestController
+    @RequestMapping("/users")
+    static class UserProjectionResource extends GenericResource<User, UserEditorForm, UserDTO, UUID> {
+
+        UserProjectionResource(UserProjectionService service, MessageService messageService) {
+            super(service, messageService, "/users");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.tnh.baseware.core.securities;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@link PrivilegeMatcher} with the regex list scan it replaced, on privilege sets shaped
+ * like the ones {@code PrivilegeExtractorUtils} produces: a few controller wildcards and, per
+ * controller, the usual CRUD endpoints with path parameters. Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.tnh.baseware.core.securities.PrivilegeMatcherBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrivilegeMatcherBenchmark {
+
+    @Param({"10", "50", "200"})
+    int controllers;
+
+    List<String> privileges;
+    PrivilegeMatcher matcher;
+    String lastEndpoint;
+    String missingEndpoint;
+
+    @Setup
+    public void setUp() {
+        privileges = new ArrayList<>();
+        for (var i = 0; i < controllers; i++) {
+            var base = "/api/v1/resource" + i;
+            privileges.add("GET:^" + base + "$");
+            privileges.add("GET:^" + base + "/[^/]+$");
+            privileges.add("GET:^" + base + "/pagination$");
+            privileges.add("POST:^" + base + "$");
+            privileges.add("PUT:^" + base + "/[^/]+$");
+            privileges.add("DELETE:^" + base + "/[^/]+$");
+        }
+        privileges.add("^/api/v1/reports(/.*)?$");
+        privileges.add("^/api/v1/dashboards(/.*)?$");
+
+        matcher = PrivilegeMatcher.compile(privileges);
+        lastEndpoint = "/api/v1/resource" + (controllers - 1) + "/0190a4b2-7c1e-7d8a-9f00-2b3c4d5e6f70";
+        missingEndpoint = "/api/v1/unknown/0190a4b2-7c1e-7d8a-9f00-2b3c4d5e6f70";
+    }
+
+    @Benchmark
+    public boolean compiledMatch() {
+        return matcher.matches("DELETE", lastEndpoint);
+    }
+
+    @Benchmark
+    public boolean compiledMiss() {
+        return matcher.matches("GET", missingEndpoint);
+    }
+
+    @Benchmark
+    public boolean regexScanMatch() {
+        return RegexScan.hasPrivilege(privileges, "DELETE", lastEndpoint);
+    }
+
+    @Benchmark
+    public boolean regexScanMiss() {
+        return RegexScan.hasPrivilege(privileges, "GET", missingEndpoint);
+    }
+
+    @Benchmark
+    public PrivilegeMatcher compile() {
+        return PrivilegeMatcher.compile(privileges);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PrivilegeMatcherBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * The matching {@code PrivilegeCacheService.hasPrivilege} did before the compiled matcher:
+     * wildcard privileges first, then every "METHOD:regex" split and matched on a parallel stream.
+     */
+    static final class RegexScan {
+
+        private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+        static boolean hasPrivilege(List<String> privileges, String requestMethod, String requestURI) {
+            var hasWildcard = privileges.stream()
+                    .filter(p -> !p.contains(":"))
+                    .anyMatch(p -> matchPattern(p, requestURI));
+
+            if (hasWildcard) return true;
+            return privileges.parallelStream()
+                    .filter(pattern -> pattern.contains(":"))
+                    .anyMatch(apiPattern -> matchPattern(apiPattern, requestMethod, requestURI));
+        }
+
+        private static boolean matchPattern(String apiPattern, String requestURI) {
+            return PATTERNS.computeIfAbsent(apiPattern, Pattern::compile).matcher(requestURI).matches();
+        }
+
+        private static boolean matchPattern(String apiPattern, String requestMethod, String requestURI) {
+            var parts = apiPattern.split(":", 2);
+            if (parts.length != 2) return false;
+            if (!parts[0].equalsIgnoreCase(requestMethod)) return false;
+            return matchPattern(parts[1], requestURI);
+        }
+    }
+}
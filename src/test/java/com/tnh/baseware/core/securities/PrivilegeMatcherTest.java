@@ -0,0 +1,94 @@
+package com.tnh.baseware.core.securities;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The compiled matcher must grant exactly what the privilege regexes grant, for every pattern shape
+ * {@code PrivilegeExtractorUtils} emits and for the hand-written ones that fall back to regexes.
+ */
+class PrivilegeMatcherTest {
+
+    private static final List<String> PRIVILEGES = List.of(
+            "GET:^/api/v1/users$",
+            "GET:^/api/v1/users/[^/]+$",
+            "PUT:^/api/v1/users/[^/]+/roles$",
+            "DELETE:^/api/v1/users/pagination$",
+            "post:^/api/v1/menus$",
+            "^/api/v1/reports(/.*)?$",
+            "GET:^/api/v1/files/.*$",
+            "GET:^/api/v1/items/\\d+$");
+
+    private static final List<String> METHODS = List.of("GET", "POST", "PUT", "DELETE");
+
+    private static final List<String> URIS = List.of(
+            "/api/v1/users",
+            "/api/v1/users/",
+            "/api/v1/Users",
+            "/api/v1/usersx",
+            "/api/v1/users/0190a4b2-7c1e-7d8a-9f00-2b3c4d5e6f70",
+            "/api/v1/users/pagination",
+            "/api/v1/users/abc/roles",
+            "/api/v1/users//roles",
+            "/api/v1/users/abc/roles/extra",
+            "/api/v1/menus",
+            "/api/v1/menus/1",
+            "/api/v1/reports",
+            "/api/v1/reports/",
+            "/api/v1/reports/daily/2026",
+            "/api/v1/reportsx",
+            "/api/v1/files",
+            "/api/v1/files/",
+            "/api/v1/files/a/b.pdf",
+            "/api/v1/items/42",
+            "/api/v1/items/abc",
+            "/api/v1",
+            "");
+
+    @ParameterizedTest(name = "{0} {1} {2}")
+    @MethodSource("singlePrivilegeCases")
+    void singlePrivilegeAgreesWithRegex(String privilege, String method, String uri) {
+        var matcher = PrivilegeMatcher.compile(List.of(privilege));
+
+        assertThat(matcher.matches(method, uri)).isEqualTo(regexMatches(privilege, method, uri));
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @MethodSource("requests")
+    void privilegeSetAgreesWithRegex(String method, String uri) {
+        var matcher = PrivilegeMatcher.compile(PRIVILEGES);
+        var expected = PRIVILEGES.stream().anyMatch(privilege -> regexMatches(privilege, method, uri));
+
+        assertThat(matcher.matches(method, uri)).isEqualTo(expected);
+    }
+
+    static Stream<Arguments> singlePrivilegeCases() {
+        var cases = new ArrayList<Arguments>();
+        for (var privilege : PRIVILEGES) {
+            requests().forEach(request -> cases.add(Arguments.of(privilege, request.get()[0], request.get()[1])));
+        }
+        return cases.stream();
+    }
+
+    static Stream<Arguments> requests() {
+        return METHODS.stream().flatMap(method -> URIS.stream().map(uri -> Arguments.of(method, uri)));
+    }
+
+    /**
+     * The check the privilege strings are defined by: an optional "METHOD:" prefix compared
+     * case-insensitively and a regex that must match the whole URI.
+     */
+    private static boolean regexMatches(String privilege, String method, String uri) {
+        var separator = privilege.indexOf(':');
+        if (separator >= 0 && !privilege.substring(0, separator).equalsIgnoreCase(method)) return false;
+        return Pattern.matches(privilege.substring(separator + 1), uri);
+    }
+}
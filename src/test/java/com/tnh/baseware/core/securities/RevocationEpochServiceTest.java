@@ -0,0 +1,81 @@
+package com.tnh.baseware.core.securities;
+
+import com.tnh.baseware.core.enums.TokenType;
+import com.tnh.baseware.core.properties.SecurityProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Revocation epochs must reject every token issued up to the revocation, including tokens from
+ * the same second, and keep tokens issued right after it.
+ */
+class RevocationEpochServiceTest {
+
+    private static final String USERNAME = "alice";
+    private static final long EPOCH = 1_700_000_000_500L;
+
+    @SuppressWarnings("unchecked")
+    RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+    RevocationEpochService service;
+
+    @BeforeEach
+    void setUp() {
+        var securityProperties = new SecurityProperties();
+        securityProperties.setJwt(new SecurityProperties.Jwt());
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        service = new RevocationEpochService(redisTemplate, mock(RedisMessageListenerContainer.class), securityProperties);
+    }
+
+    @Test
+    void rejectsTokenIssuedInTheSameSecondBeforeTheRevocation() {
+        when(hashOperations.entries(anyString())).thenReturn(Map.of("user", EPOCH));
+
+        assertThat(service.isRevoked(USERNAME, null, TokenType.REFRESH.getValue(), Instant.ofEpochMilli(EPOCH - 300)))
+                .isTrue();
+        assertThat(service.isRevoked(USERNAME, null, TokenType.REFRESH.getValue(), Instant.ofEpochMilli(EPOCH)))
+                .isTrue();
+    }
+
+    @Test
+    void keepsTokenIssuedAfterTheRevocation() {
+        when(hashOperations.entries(anyString())).thenReturn(Map.of("user", EPOCH));
+
+        assertThat(service.isRevoked(USERNAME, null, TokenType.REFRESH.getValue(), Instant.ofEpochMilli(EPOCH + 1)))
+                .isFalse();
+    }
+
+    @Test
+    void writesEpochInMilliseconds() {
+        var before = Instant.now().toEpochMilli();
+        service.revokeUser(USERNAME, null);
+
+        var epoch = ArgumentCaptor.forClass(Object.class);
+        verify(hashOperations).put(eq("token-epochs:" + USERNAME), eq("user"), epoch.capture());
+        assertThat((Long) epoch.getValue()).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    void failedEpochWriteIsReported() {
+        doThrow(new IllegalStateException("redis down")).when(hashOperations).put(anyString(), any(), any());
+
+        assertThat(service.revokeSession(USERNAME, "session", TokenType.ACCESS)).isFalse();
+    }
+}
@@ -0,0 +1,137 @@
+package com.tnh.baseware.core.securities;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tnh.baseware.core.properties.SecurityProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A batch that cannot be persisted must go back to the queue instead of being dropped, and a row the
+ * database rejects must not hold up the rows behind it.
+ */
+class TokenJournalTest {
+
+    JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    @SuppressWarnings("unchecked")
+    RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    TokenJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        journal = new TokenJournal(jdbcTemplate, redisTemplate, new ObjectMapper().findAndRegisterModules(),
+                transactionManager, new SecurityProperties());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void requeuesFailedBatchAndBacksOff() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(new int[][]{{1, 1}});
+
+        journal.append(token());
+        journal.append(token());
+        journal.flush();
+        assertThat(journal.size()).isEqualTo(2);
+
+        // the scheduled flush waits for the backoff, an explicit flush does not
+        journal.scheduledFlush();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+
+        journal.flush();
+        assertThat(journal.size()).isZero();
+        verify(hashOperations).delete(anyString(), any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void parksRejectedRowAndPersistsTheRest() {
+        var rejected = token();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    var rows = (Collection<?>) invocation.getArgument(1);
+                    if (rows.contains(rejected)) throw new DataIntegrityViolationException("user does not exist");
+                    return new int[][]{new int[rows.size()]};
+                });
+
+        journal.append(token());
+        journal.append(rejected);
+        journal.append(token());
+        journal.append(token());
+        journal.flush();
+
+        assertThat(journal.size()).isZero();
+        verify(hashOperations).put(eq("token-journal:dead-letter"), eq(rejected.jti()), anyString());
+        verify(hashOperations).delete(anyString(), eq(rejected.jti()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void keepsJournalEntriesWhenCommitFails() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1}});
+        doThrow(new TransactionSystemException("commit failed")).when(transactionManager).commit(any());
+
+        journal.append(token());
+        journal.flush();
+
+        assertThat(journal.size()).isEqualTo(1);
+        verify(hashOperations, never()).delete(anyString(), any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replaysOnlyOrphanedEntries() throws Exception {
+        var objectMapper = new ObjectMapper().findAndRegisterModules();
+        var orphaned = token(Instant.now().minusSeconds(3600));
+        var fresh = token(Instant.now());
+        when(hashOperations.values(anyString())).thenReturn(List.of(
+                objectMapper.writeValueAsString(orphaned), objectMapper.writeValueAsString(fresh)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1}});
+
+        journal.replay();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), eq(List.of(orphaned)), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    private static TokenJournal.PendingToken token() {
+        return token(Instant.now());
+    }
+
+    private static TokenJournal.PendingToken token(Instant issuedAt) {
+        return new TokenJournal.PendingToken(UUID.randomUUID().toString(), UUID.randomUUID(), "access", "127.0.0.1",
+                "JUnit", "en", UUID.randomUUID(), "tester", issuedAt, issuedAt.plusSeconds(3600));
+    }
+}
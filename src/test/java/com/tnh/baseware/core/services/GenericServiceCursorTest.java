@@ -0,0 +1,82 @@
+package com.tnh.baseware.core.services;
+
+import com.tnh.baseware.core.dtos.user.UserDTO;
+import com.tnh.baseware.core.entities.user.User;
+import com.tnh.baseware.core.exceptions.BWCValidationException;
+import com.tnh.baseware.core.forms.user.UserEditorForm;
+import com.tnh.baseware.core.mappers.user.IUserMapper;
+import com.tnh.baseware.core.repositories.user.IUserRepository;
+import com.tnh.baseware.core.specs.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.web.SpringDataWebProperties;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cursor reads take client input: malformed cursors are validation errors and sizes are bounded.
+ */
+class GenericServiceCursorTest {
+
+    IUserRepository repository = mock(IUserRepository.class);
+    UserCursorService service;
+
+    @BeforeEach
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void setUp() {
+        var messageSource = new StaticMessageSource();
+        messageSource.setUseCodeAsDefaultMessage(true);
+        service = new UserCursorService(repository, mock(IUserMapper.class), new MessageService(messageSource));
+
+        var entityManager = mock(EntityManager.class, RETURNS_DEEP_STUBS);
+        when(entityManager.getMetamodel().entity(User.class).getIdType().getJavaType()).thenReturn((Class) UUID.class);
+        var webProperties = new SpringDataWebProperties();
+        webProperties.getPageable().setMaxPageSize(100);
+
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        ReflectionTestUtils.setField(service, "springDataWebProperties", webProperties);
+        when(repository.findBy(any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void cursorWithForeignIdIsValidationError() {
+        var tampered = new KeysetCursor(Instant.now(), "not-a-uuid").encode();
+
+        assertThatThrownBy(() -> service.findAll(tampered, 10)).isInstanceOf(BWCValidationException.class);
+    }
+
+    @Test
+    void undecodableCursorIsValidationError() {
+        var garbage = Base64.getUrlEncoder().encodeToString("garbage".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> service.findAll(garbage, 10)).isInstanceOf(BWCValidationException.class);
+    }
+
+    @Test
+    void sizeIsClampedToMaxPageSize() {
+        assertThat(service.findAll(null, 1_000_000).size()).isEqualTo(100);
+        assertThat(service.findAll(null, -5).size()).isEqualTo(1);
+    }
+
+    static class UserCursorService
+            extends GenericService<User, UserEditorForm, UserDTO, IUserRepository, IUserMapper, UUID> {
+
+        UserCursorService(IUserRepository repository, IUserMapper mapper, MessageService messageService) {
+            super(repository, mapper, messageService, User.class);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.tnh.baseware.core.services;
+
+import com.tnh.baseware.core.components.FetchPlanResolver;
+import com.tnh.baseware.core.components.GenericEntityFetcher;
+import com.tnh.baseware.core.components.SqlStatementCounter;
+import com.tnh.baseware.core.entities.audit.Category;
+import com.tnh.baseware.core.entities.user.Menu;
+import com.tnh.baseware.core.enums.CategoryCode;
+import com.tnh.baseware.core.mappers.user.IMenuMapper;
+import com.tnh.baseware.core.repositories.audit.ICategoryRepository;
+import com.tnh.baseware.core.repositories.user.IMenuRepository;
+import com.tnh.baseware.core.repositories.user.IRoleRepository;
+import com.tnh.baseware.core.services.user.imp.MenuService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Generic list reads must not issue one query per row while mapping to DTOs: the associations the
+ * DTO reads are fetched with the page, collections load in batches, so the statement count stays
+ * flat as the page grows. Second-level caching is off, otherwise cache hits would hide extra reads.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({SqlStatementCounter.Registration.class, GenericServiceFetchPlanTest.Auditing.class})
+class GenericServiceFetchPlanTest {
+
+    // the menus stay within one batch of default_batch_fetch_size, so their children load in one query
+    private static final int FEW = 3;
+    private static final int MANY = 30;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    IMenuRepository menuRepository;
+    @Autowired
+    SqlStatementCounter sqlStatementCounter;
+
+    MenuService menuService;
+
+    @BeforeEach
+    void setUp() {
+        var messageSource = new StaticMessageSource();
+        messageSource.setUseCodeAsDefaultMessage(true);
+
+        menuService = new MenuService(menuRepository, Mappers.getMapper(IMenuMapper.class),
+                new MessageService(messageSource), mock(IRoleRepository.class), mock(ICategoryRepository.class),
+                mock(GenericEntityFetcher.class));
+        ReflectionTestUtils.setField(menuService, "entityManager", entityManager);
+        ReflectionTestUtils.setField(menuService, "fetchPlanResolver",
+                new FetchPlanResolver(entityManager.getEntityManagerFactory()));
+    }
+
+    @Test
+    void pagedReadDoesNotGrowWithPageSize() {
+        var few = seed("few", FEW);
+        var many = seed("many", MANY);
+
+        var fewStatements = statements(() -> menuService.findAllByIds(few, PageRequest.of(0, 100)));
+        var manyStatements = statements(() -> menuService.findAllByIds(many, PageRequest.of(0, 100)));
+
+        assertThat(manyStatements).isEqualTo(fewStatements);
+        // the page with its fetch plan, then one batch for the children collections
+        assertThat(manyStatements).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void listReadMapsParentsWithoutExtraQueries() {
+        var many = seed("list", MANY);
+
+        sqlStatementCounter.reset();
+        var menus = menuService.findAllByIds(many);
+        var statements = sqlStatementCounter.count();
+
+        assertThat(menus).hasSize(MANY)
+                .allSatisfy(menu -> {
+                    assertThat(menu.getMenuType().getName()).isNotBlank();
+                    assertThat(menu.getParent().getMenuType().getName()).isNotBlank();
+                });
+        assertThat(statements).isLessThanOrEqualTo(2);
+    }
+
+    private long statements(Runnable read) {
+        sqlStatementCounter.reset();
+        read.run();
+        return sqlStatementCounter.count();
+    }
+
+    /**
+     * Persists {@code count} menus, each with its own menu type and spread over two parents that
+     * have menu types of their own, and returns the ids of the child menus.
+     */
+    private List<UUID> seed(String prefix, int count) {
+        var parents = List.of(menu(prefix + "-parent-0", null), menu(prefix + "-parent-1", null));
+        var ids = new ArrayList<UUID>(count);
+        for (var i = 0; i < count; i++) {
+            ids.add(menu(prefix + "-" + i, parents.get(i % parents.size())).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return ids;
+    }
+
+    private Menu menu(String title, Menu parent) {
+        var menuType = Category.builder()
+                .code(CategoryCode.MENU_TYPE)
+                .name(title + "-type")
+                .displayName(title)
+                .build();
+        entityManager.persist(menuType);
+
+        var menu = Menu.builder()
+                .title(title)
+                .alias(title)
+                .path("/" + title)
+                .link("/" + title)
+                .icon("menu")
+                .published(1)
+                .browserNav(0)
+                .menuOrder(0)
+                .menuType(menuType)
+                .parent(parent)
+                .build();
+        entityManager.persist(menu);
+        return menu;
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    @EnableJpaAuditing(auditorAwareRef = "testAuditor")
+    static class Auditing {
+
+        @Bean
+        AuditorAware<String> testAuditor() {
+            return () -> Optional.of("test");
+        }
+    }
+}
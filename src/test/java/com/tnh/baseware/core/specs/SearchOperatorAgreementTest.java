@@ -0,0 +1,172 @@
+package com.tnh.baseware.core.specs;
+
+import com.tnh.baseware.core.components.SearchIndexManager;
+import com.tnh.baseware.core.entities.audit.Category;
+import com.tnh.baseware.core.entities.user.Menu;
+import com.tnh.baseware.core.enums.CategoryCode;
+import com.tnh.baseware.core.properties.SystemProperties;
+import com.tnh.baseware.core.repositories.SearchQueryRepository;
+import com.tnh.baseware.core.repositories.user.IMenuRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plain search runs on {@link CompiledSearch} while projected and cursor search still build
+ * {@link GenericSpecification} Criteria predicates, so every {@link Operator} has two
+ * implementations; for each operator both must select the same rows.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(SearchOperatorAgreementTest.Auditing.class)
+class SearchOperatorAgreementTest {
+
+    private static final Instant NOW = Instant.now();
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    IMenuRepository menuRepository;
+
+    SearchQueryRepository searchQueryRepository;
+
+    @BeforeEach
+    void setUp() {
+        new SearchIndexManager(jdbcTemplate, entityManager.getEntityManagerFactory()).initialize();
+        searchQueryRepository = new SearchQueryRepository(new SystemProperties());
+        ReflectionTestUtils.setField(searchQueryRepository, "entityManager", entityManager);
+
+        var main = category("main");
+        var settings = category("settings");
+        menu("Hà Nội", main, 0, 1);
+        menu("Hải Phòng", main, 1, 0);
+        menu("Menu one", main, 2, 1);
+        menu("Menu two", settings, 3, 0);
+        menu("Settings", settings, 4, 1);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void everyOperatorIsCovered() {
+        var covered = filters().map(FilterRequest::getOperator).collect(Collectors.toSet());
+
+        assertThat(covered).containsAll(EnumSet.allOf(Operator.class));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filters")
+    void compiledAndSpecificationSelectTheSameRows(FilterRequest filter) {
+        var request = SearchRequest.builder().filters(List.of(filter)).build();
+
+        var compiled = searchQueryRepository.findAll(Menu.class, searchQueryRepository.compile(Menu.class, request),
+                request, Pageable.unpaged(), 0, null);
+        var specified = menuRepository.findAll(new GenericSpecification<>(request));
+
+        assertThat(ids(compiled)).isNotEmpty().containsExactlyInAnyOrderElementsOf(ids(specified));
+    }
+
+    static Stream<FilterRequest> filters() {
+        return Stream.of(
+                filter("title", Operator.EQUAL, FieldType.STRING, "Hà Nội"),
+                filter("menuType.name", Operator.EQUAL, FieldType.STRING, "settings"),
+                filter("published", Operator.NOT_EQUAL, FieldType.INTEGER, "1"),
+                filter("title", Operator.LIKE, FieldType.STRING, "menu"),
+                filter("menuOrder", Operator.GREATER_THAN, FieldType.INTEGER, "2"),
+                filter("menuOrder", Operator.LESS_THAN, FieldType.INTEGER, "2"),
+                FilterRequest.builder().key("menuOrder").operator(Operator.IN).fieldType(FieldType.INTEGER)
+                        .values(List.of("1", "3")).build(),
+                filter("published", Operator.NOT_IN, FieldType.INTEGER, "0"),
+                between("menuOrder", FieldType.INTEGER, "1", "3"),
+                between("createdDate", FieldType.DATE, NOW.minus(Duration.ofDays(1)).toString(),
+                        NOW.plus(Duration.ofDays(1)).toString()),
+                between("title", FieldType.CHAR, "a", "z"),
+                filter("title", Operator.FULL_TEXT, FieldType.STRING, "ha noi"),
+                filter("title", Operator.PREFIX, FieldType.STRING, "ha"),
+                filter("title", Operator.FUZZY, FieldType.STRING, "ha nol"));
+    }
+
+    private static FilterRequest filter(String key, Operator operator, FieldType fieldType, String value) {
+        return FilterRequest.builder().key(key).operator(operator).fieldType(fieldType).value(value).build();
+    }
+
+    private static FilterRequest between(String key, FieldType fieldType, String value, String valueTo) {
+        return FilterRequest.builder().key(key).operator(Operator.BETWEEN).fieldType(fieldType)
+                .value(value).valueTo(valueTo).build();
+    }
+
+    private static List<UUID> ids(List<Menu> menus) {
+        return menus.stream().map(Menu::getId).toList();
+    }
+
+    private Category category(String name) {
+        var category = Category.builder()
+                .code(CategoryCode.MENU_TYPE)
+                .name(name)
+                .displayName(name)
+                .build();
+        entityManager.persist(category);
+        return category;
+    }
+
+    private void menu(String title, Category menuType, int menuOrder, int published) {
+        entityManager.persist(Menu.builder()
+                .title(title)
+                .alias(title)
+                .path("/" + title)
+                .link("/" + title)
+                .icon("menu")
+                .published(published)
+                .browserNav(0)
+                .menuOrder(menuOrder)
+                .menuType(menuType)
+                .build());
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    @EnableJpaAuditing(auditorAwareRef = "testAuditor")
+    static class Auditing {
+
+        @Bean
+        AuditorAware<String> testAuditor() {
+            return () -> Optional.of("test");
+        }
+    }
+}